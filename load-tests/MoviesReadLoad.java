@@ -0,0 +1,108 @@
+// Java counterpart of movies-read.js for machines without k6 (JDK 21, no build needed).
+// Usage: java load-tests/MoviesReadLoad.java [baseUrl] [vus] [durationSeconds] [warmupSeconds]
+// Each virtual user runs the same three-request loop as the k6 script; latencies are recorded
+// after the warm-up only. Per request name it prints the successful throughput and its p50/p95/p99,
+// and the failures: non-200 responses, transport errors, and GraphQL responses carrying errors.
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MoviesReadLoad {
+
+    // Uncached paths only: movie(id) is served from the detail cache and would hide database latency
+    private static final String MOVIES_QUERY =
+            "{\"query\":\"{ movies(first: 20) { edges { node { id title genre director } } pageInfo { endCursor } } }\"}";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int vus = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        long durationSeconds = args.length > 2 ? Long.parseLong(args[2]) : 120;
+        long warmupSeconds = args.length > 3 ? Long.parseLong(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        Map<String, HttpRequest> requests = new LinkedHashMap<>();
+        requests.put("GET /api/movies", HttpRequest.newBuilder(URI.create(baseUrl + "/api/movies?limit=20")).build());
+        requests.put("GET /api/movies/search",
+                HttpRequest.newBuilder(URI.create(baseUrl + "/api/movies/search?genre=Drama&limit=20")).build());
+        requests.put("POST /graphql", HttpRequest.newBuilder(URI.create(baseUrl + "/graphql"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MOVIES_QUERY))
+                .build());
+
+        // Latencies of successful requests only; a fast failure would otherwise flatter the percentiles
+        Map<String, List<Long>> latencies = new LinkedHashMap<>();
+        Map<String, AtomicLong> failures = new LinkedHashMap<>();
+        requests.keySet().forEach(name -> {
+            latencies.put(name, Collections.synchronizedList(new ArrayList<>()));
+            failures.put(name, new AtomicLong());
+        });
+
+        long measureFrom = System.nanoTime() + Duration.ofSeconds(warmupSeconds).toNanos();
+        long end = measureFrom + Duration.ofSeconds(durationSeconds).toNanos();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < vus; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < end) {
+                        requests.forEach((name, request) -> {
+                            long start = System.nanoTime();
+                            boolean ok;
+                            try {
+                                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                                ok = response.statusCode() == 200 && !response.body().contains("\"errors\"");
+                            } catch (Exception e) {
+                                ok = false;
+                            }
+                            if (start >= measureFrom && start < end) {
+                                if (ok) {
+                                    latencies.get(name).add(System.nanoTime() - start);
+                                } else {
+                                    failures.get(name).incrementAndGet();
+                                }
+                            }
+                        });
+                    }
+                });
+            }
+        }
+
+        System.out.printf("%d VUs, %ds measured after %ds warm-up%n", vus, durationSeconds, warmupSeconds);
+        System.out.printf("%-24s %8s %8s %9s %9s %9s %8s%n", "request", "ok", "ok/s", "p50 ms", "p95 ms", "p99 ms", "failed");
+        List<Long> all = new ArrayList<>();
+        long failed = 0;
+        for (String name : requests.keySet()) {
+            List<Long> sorted = new ArrayList<>(latencies.get(name));
+            Collections.sort(sorted);
+            all.addAll(sorted);
+            failed += failures.get(name).get();
+            System.out.printf("%-24s %8d %8.1f %9.1f %9.1f %9.1f %8d%n", name, sorted.size(),
+                    sorted.size() / (double) durationSeconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+                    failures.get(name).get());
+        }
+        Collections.sort(all);
+        System.out.printf("%-24s %8d %8.1f %9.1f %9.1f %9.1f %8d%n", "total", all.size(),
+                all.size() / (double) durationSeconds,
+                percentile(all, 0.50), percentile(all, 0.95), percentile(all, 0.99), failed);
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
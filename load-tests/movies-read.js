@@ -0,0 +1,35 @@
+// k6 read-mix for comparing platform-thread and virtual-thread execution of movies-service.
+// Usage: k6 run -e BASE_URL=http://localhost:8081 -e VUS=400 load-tests/movies-read.js
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8081';
+
+export const options = {
+    scenarios: {
+        reads: {
+            executor: 'constant-vus',
+            vus: Number(__ENV.VUS || 400),
+            duration: __ENV.DURATION || '2m',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+// Uncached paths only: movie(id) is served from the detail cache and would hide database latency
+const MOVIES_QUERY = JSON.stringify({
+    query: '{ movies(first: 20) { edges { node { id title genre director } } pageInfo { endCursor } } }',
+});
+
+export default function () {
+    const page = http.get(`${BASE_URL}/api/movies?limit=20`, { tags: { name: 'GET /api/movies' } });
+    check(page, { 'page 200': (r) => r.status === 200 });
+
+    const search = http.get(`${BASE_URL}/api/movies/search?genre=Drama&limit=20`, { tags: { name: 'GET /api/movies/search' } });
+    check(search, { 'search 200': (r) => r.status === 200 });
+
+    const graphql = http.post(`${BASE_URL}/graphql`, MOVIES_QUERY,
+        { headers: { 'Content-Type': 'application/json' }, tags: { name: 'POST /graphql' } });
+    // Database timeouts come back as errors inside a 200
+    check(graphql, { 'graphql ok': (r) => r.status === 200 && !r.json('errors') });
+}
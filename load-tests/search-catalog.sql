@@ -0,0 +1,23 @@
+-- Synthetic 1M-movie catalog for search latency measurements (scratch databases only: it truncates movies).
+-- Titles are two or three pseudo-words drawn from a skewed ~80k-word vocabulary, one in five starts with "The".
+-- Usage: psql -d netflix_movies -f load-tests/search-catalog.sql   (after the service has applied its migrations)
+TRUNCATE movies;
+CREATE OR REPLACE FUNCTION pseudo_word(n int) RETURNS text LANGUAGE sql IMMUTABLE AS $$
+  SELECT (ARRAY['ka','lo','mi','ra','ve','to','sa','ne','di','pu','ro','la','chi','mar','den','vin','sol','tor','bel','gra','fen','mor','lis','quo','zan','hel','bri','cor','dra','eth'])[1 + n % 30]
+      || (ARRAY['n','r','s','l','','th','m','x','v','d','k','st','nd','rk','ll'])[1 + (n / 30) % 15]
+      || (ARRAY['a','e','o','i','u','','en','ar','on','is','or','ia','el','us','an','y','ic','ex'])[1 + (n / 450) % 18]
+      || CASE WHEN n >= 8100 THEN (ARRAY['','ton','wood','field','gate','more','land','ville','stone','haven'])[1 + (n / 8100) % 10] ELSE '' END
+$$;
+INSERT INTO movies (title, description, release_date, genre, director)
+SELECT CASE WHEN random() < 0.2 THEN 'The ' ELSE '' END
+       || initcap(pseudo_word(floor(80000 * random() ^ 3)::int))
+       || ' ' || pseudo_word(floor(80000 * random() ^ 3)::int)
+       || CASE WHEN random() < 0.4 THEN ' ' || pseudo_word(floor(80000 * random() ^ 3)::int) ELSE '' END,
+       'Generated movie ' || g,
+       date '1950-01-01' + (g % 27000),
+       (ARRAY['Drama','Comedy','Action','Thriller','Horror','Romance','Documentary','Animation','Sci-Fi','Fantasy'])[1 + g % 10],
+       initcap(pseudo_word(((g::bigint * 7919) % 80000)::int)) || ' ' || initcap(pseudo_word(((g::bigint * 104729) % 80000)::int))
+FROM generate_series(1, 1000000) g;
+VACUUM ANALYZE movies;
+REFRESH MATERIALIZED VIEW movie_title_words;
+DROP FUNCTION pseudo_word(int);
@@ -0,0 +1,111 @@
+package com.netflix.gateway.cache;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLAppliedDirective;
+import graphql.schema.GraphQLAppliedDirectiveArgument;
+import graphql.schema.GraphQLDirectiveContainer;
+import graphql.schema.GraphQLNamedType;
+import graphql.schema.GraphQLTypeUtil;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Derives a {@link CacheHint} for query operations from {@code @cacheControl} in the schema.
+ *
+ * <p>Each field's max age comes from a hint on the field, else from a hint on the
+ * object type it returns. {@code inheritMaxAge} and scalar fields without a hint take
+ * their parent's max age; object fields without any hint are not cacheable. The
+ * response max age is the smallest max age of any field, and every type with a
+ * max age becomes a tag for invalidation.
+ */
+public class CacheControlInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String CACHE_CONTROL = "cacheControl";
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        if (context.getOperationDefinition().getOperation() == OperationDefinition.Operation.QUERY) {
+            context.getGraphQLContext().put(CacheHint.class, analyze(context));
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    private CacheHint analyze(ExecutionContext context) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+
+        Map<QueryVisitorFieldEnvironment, Integer> maxAges = new HashMap<>();
+        Set<String> tags = new HashSet<>();
+        int[] responseMaxAge = {Integer.MAX_VALUE};
+        traverser.visitPreOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                if (env.getField().getName().startsWith("__")) {
+                    return;
+                }
+                QueryVisitorFieldEnvironment parent = env.getParentEnvironment();
+                int parentMaxAge = parent != null ? maxAges.getOrDefault(parent, 0) : 0;
+                int maxAge = maxAge(env, parentMaxAge, tags);
+                maxAges.put(env, maxAge);
+                responseMaxAge[0] = Math.min(responseMaxAge[0], maxAge);
+            }
+        });
+
+        int maxAge = responseMaxAge[0] == Integer.MAX_VALUE ? 0 : responseMaxAge[0];
+        return new CacheHint(maxAge, Set.copyOf(tags));
+    }
+
+    private int maxAge(QueryVisitorFieldEnvironment env, int parentMaxAge, Set<String> tags) {
+        GraphQLNamedType type = (GraphQLNamedType) GraphQLTypeUtil.unwrapAll(env.getFieldDefinition().getType());
+        GraphQLAppliedDirective typeHint = type instanceof GraphQLDirectiveContainer container
+                ? container.getAppliedDirective(CACHE_CONTROL)
+                : null;
+        Integer typeMaxAge = typeHint != null ? argument(typeHint, "maxAge") : null;
+        if (typeMaxAge != null) {
+            tags.add(type.getName());
+        }
+
+        GraphQLAppliedDirective fieldHint = env.getFieldDefinition().getAppliedDirective(CACHE_CONTROL);
+        if (fieldHint != null) {
+            Integer maxAge = argument(fieldHint, "maxAge");
+            if (maxAge != null) {
+                return maxAge;
+            }
+            if (Boolean.TRUE.equals(argument(fieldHint, "inheritMaxAge"))) {
+                return parentMaxAge;
+            }
+        }
+
+        if (GraphQLTypeUtil.isLeaf(type)) {
+            return parentMaxAge;
+        }
+        if (typeMaxAge != null) {
+            return typeMaxAge;
+        }
+        return typeHint != null && Boolean.TRUE.equals(argument(typeHint, "inheritMaxAge")) ? parentMaxAge : 0;
+    }
+
+    private static <T> T argument(GraphQLAppliedDirective directive, String name) {
+        GraphQLAppliedDirectiveArgument argument = directive.getArgument(name);
+        return argument != null ? argument.getValue() : null;
+    }
+}
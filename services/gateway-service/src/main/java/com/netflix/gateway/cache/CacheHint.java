@@ -0,0 +1,14 @@
+package com.netflix.gateway.cache;
+
+import java.util.Set;
+
+/**
+ * How long a query response may be cached, and the types it was built from.
+ * Computed by {@link CacheControlInstrumentation} and read back by {@link ResponseCacheInterceptor}.
+ */
+public record CacheHint(int maxAge, Set<String> tags) {
+
+    public boolean cacheable() {
+        return maxAge > 0;
+    }
+}
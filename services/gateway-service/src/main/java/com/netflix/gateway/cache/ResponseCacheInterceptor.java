@@ -0,0 +1,219 @@
+package com.netflix.gateway.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.netflix.gateway.cost.QueryCost;
+import com.netflix.gateway.cost.QueryCostProperties;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Caches query responses keyed by the normalised operation and its variables, for
+ * the max age the schema's {@code @cacheControl} hints allow. Mutations configured in
+ * {@code gateway.response-cache.invalidations} evict every response tagged with the
+ * types they change, once they have succeeded without errors; a query that was running
+ * at the time is not stored, since it may have read the old data. A hit is still checked against the caller's cost budget and
+ * reports its cost under {@code extensions.cost}, like an executed query.
+ */
+public class ResponseCacheInterceptor implements WebGraphQlInterceptor {
+
+    private final ResponseCacheProperties properties;
+    private final QueryCostProperties costProperties;
+    private final ObjectWriter variablesWriter;
+    private final Cache<String, CachedResponse> responses;
+    private final Cache<String, Operation> operations;
+    // Invalidations per tag so far, replaced on every invalidation; absent means none
+    private final AtomicReference<Map<String, Long>> generations = new AtomicReference<>(Map.of());
+
+    public ResponseCacheInterceptor(ResponseCacheProperties properties, QueryCostProperties costProperties,
+                                    ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.costProperties = costProperties;
+        this.variablesWriter = objectMapper.writer().with(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS);
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.maxEntries())
+                .expireAfter(new MaxAgeExpiry())
+                .recordStats()
+                .build();
+        this.operations = Caffeine.newBuilder()
+                .maximumSize(properties.maxDocuments())
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "graphql.responses");
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Operation operation = operation(request);
+        if (operation == null) {
+            return chain.next(request);
+        }
+
+        if (operation.type() == OperationDefinition.Operation.MUTATION) {
+            Set<String> tags = operation.rootFields().stream()
+                    .flatMap(field -> properties.invalidations().getOrDefault(field, Set.of()).stream())
+                    .collect(Collectors.toSet());
+            if (tags.isEmpty()) {
+                return chain.next(request);
+            }
+            return chain.next(request).doOnNext(response -> {
+                // A failed mutation has changed nothing, or at least nothing it reports
+                if (response.isValid() && response.getErrors().isEmpty()) {
+                    invalidate(tags);
+                }
+            });
+        }
+        if (operation.type() != OperationDefinition.Operation.QUERY) {
+            return chain.next(request);
+        }
+
+        String key = key(request, operation);
+        if (key == null) {
+            return chain.next(request);
+        }
+        CachedResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            String client = costProperties.clientFor(request.getHeaders().getFirst(costProperties.apiKeyHeader()));
+            QueryCost cost = cached.cost().withBudget(costProperties.budgetFor(client));
+            // Over this caller's budget: executing rejects it and records the rejection
+            if (cost.requested() > cost.budget()) {
+                return chain.next(request);
+            }
+            ExecutionResult result = cached.result().transform(builder -> builder.extensions(Map.of("cost", cost.toMap())));
+            ExecutionGraphQlResponse response = new DefaultExecutionGraphQlResponse(request.toExecutionInput(), result);
+            return Mono.just(new WebGraphQlResponse(response));
+        }
+        Map<String, Long> generationsAtStart = generations.get();
+        return chain.next(request).doOnNext(response -> store(key, response, generationsAtStart));
+    }
+
+    private void store(String key, WebGraphQlResponse response, Map<String, Long> generationsAtStart) {
+        CacheHint hint = response.getExecutionInput().getGraphQLContext().get(CacheHint.class);
+        QueryCost cost = response.getExecutionInput().getGraphQLContext().get(QueryCost.class);
+        if (hint == null || !hint.cacheable() || cost == null || !response.isValid() || !response.getErrors().isEmpty()) {
+            return;
+        }
+        // Per-request extensions (cost) are not part of the cached response, the cost is re-reported per hit
+        ExecutionResult result = ExecutionResultImpl.newExecutionResult()
+                .data(response.getExecutionResult().getData())
+                .build();
+        CachedResponse cached = new CachedResponse(result, cost, hint.maxAge(), hint.tags());
+        if (invalidatedSince(generationsAtStart, hint.tags())) {
+            return;
+        }
+        responses.put(key, cached);
+        // An invalidation between the check and the put may have scanned the store before this entry was in it
+        if (invalidatedSince(generationsAtStart, hint.tags())) {
+            responses.asMap().remove(key, cached);
+        }
+    }
+
+    // Mutations are rare next to reads, so a scan of the bounded store beats maintaining a tag index.
+    // The generations move first, so a query storing concurrently either sees them or is removed by the scan.
+    private void invalidate(Set<String> tags) {
+        generations.updateAndGet(current -> {
+            Map<String, Long> next = new HashMap<>(current);
+            tags.forEach(tag -> next.merge(tag, 1L, Long::sum));
+            return Map.copyOf(next);
+        });
+        responses.asMap().values().removeIf(cached -> !Collections.disjoint(cached.tags(), tags));
+    }
+
+    private boolean invalidatedSince(Map<String, Long> generationsAtStart, Collection<String> tags) {
+        Map<String, Long> current = generations.get();
+        return tags.stream().anyMatch(tag -> !Objects.equals(current.get(tag), generationsAtStart.get(tag)));
+    }
+
+    private Operation operation(WebGraphQlRequest request) {
+        String key = request.getOperationName() + '\n' + request.getDocument();
+        Operation operation = operations.getIfPresent(key);
+        if (operation == null) {
+            operation = parse(request.getDocument(), request.getOperationName());
+            if (operation != null) {
+                operations.put(key, operation);
+            }
+        }
+        return operation;
+    }
+
+    private Operation parse(String text, String operationName) {
+        Document document;
+        try {
+            document = Parser.parse(text);
+        } catch (InvalidSyntaxException e) {
+            return null;
+        }
+        List<OperationDefinition> definitions = document.getDefinitionsOfType(OperationDefinition.class);
+        OperationDefinition definition = definitions.stream()
+                .filter(candidate -> operationName == null || operationName.equals(candidate.getName()))
+                .findFirst()
+                .orElse(null);
+        if (definition == null) {
+            return null;
+        }
+        Set<String> rootFields = new HashSet<>();
+        definition.getSelectionSet().getSelectionsOfType(Field.class).forEach(field -> rootFields.add(field.getName()));
+        return new Operation(AstPrinter.printAstCompact(document), definition.getOperation(), Set.copyOf(rootFields));
+    }
+
+    private String key(WebGraphQlRequest request, Operation operation) {
+        try {
+            return request.getOperationName() + '\n' + operation.normalized() + '\n'
+                    + variablesWriter.writeValueAsString(request.getVariables());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private record Operation(String normalized, OperationDefinition.Operation type, Set<String> rootFields) {}
+
+    private record CachedResponse(ExecutionResult result, QueryCost cost, int maxAge, Collection<String> tags) {}
+
+    private static class MaxAgeExpiry implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            return TimeUnit.SECONDS.toNanos(value.maxAge());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return TimeUnit.SECONDS.toNanos(value.maxAge());
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
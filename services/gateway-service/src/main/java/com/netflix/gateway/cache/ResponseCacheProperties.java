@@ -0,0 +1,20 @@
+package com.netflix.gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Gateway response cache settings, bound from {@code gateway.response-cache.*}.
+ *
+ * @param invalidations cache tags (type names) evicted by each mutation field
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("10000") long maxEntries,
+        @DefaultValue("1000") long maxDocuments,
+        @DefaultValue Map<String, Set<String>> invalidations
+) {
+}
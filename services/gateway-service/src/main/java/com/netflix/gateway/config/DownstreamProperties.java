@@ -0,0 +1,27 @@
+package com.netflix.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for each downstream service, bound from {@code services.*}.
+ */
+@ConfigurationProperties(prefix = "services")
+public record DownstreamProperties(
+        Downstream movies,
+        Downstream users,
+        Downstream reviews
+) {
+    public record Downstream(
+            String url,
+            @DefaultValue("200") int maxConnections,
+            @DefaultValue("1000") int maxPendingAcquires,
+            @DefaultValue("2s") Duration pendingAcquireTimeout,
+            @DefaultValue("1s") Duration connectTimeout,
+            @DefaultValue("5s") Duration responseTimeout,
+            @DefaultValue("30s") Duration maxIdleTime,
+            @DefaultValue("false") boolean http2
+    ) {}
+}
@@ -0,0 +1,83 @@
+package com.netflix.gateway.config;
+
+import com.netflix.gateway.federation.DeadlineInterceptor;
+import com.netflix.gateway.federation.FederatedDataFetcher;
+import com.netflix.gateway.federation.FederationEngine;
+import com.netflix.gateway.federation.FederationProperties;
+import com.netflix.gateway.federation.FederationWiringConfigurer;
+import com.netflix.gateway.federation.OperationHashInterceptor;
+import com.netflix.gateway.federation.QueryPlanner;
+import com.netflix.gateway.federation.Subgraph;
+import com.netflix.gateway.federation.SupergraphComposer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.graphql.execution.GraphQlSource;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+/**
+ * Federation engine: resolves every gateway operation by planning it into subgraph fetches.
+ */
+@Configuration
+@EnableConfigurationProperties(FederationProperties.class)
+public class FederationConfig {
+
+    // Declaration order is ownership order, for fields several subgraphs define
+    @Bean
+    public Subgraph moviesSubgraph(@Qualifier("moviesWebClient") WebClient webClient, DownstreamProperties properties) {
+        return subgraph("movies", webClient, properties.movies());
+    }
+
+    @Bean
+    public Subgraph usersSubgraph(@Qualifier("usersWebClient") WebClient webClient, DownstreamProperties properties) {
+        return subgraph("users", webClient, properties.users());
+    }
+
+    @Bean
+    public Subgraph reviewsSubgraph(@Qualifier("reviewsWebClient") WebClient webClient, DownstreamProperties properties) {
+        return subgraph("reviews", webClient, properties.reviews());
+    }
+
+    @Bean
+    public SupergraphComposer supergraphComposer(List<Subgraph> subgraphs, ObjectProvider<GraphQlSource> graphQlSource) {
+        return new SupergraphComposer(subgraphs, graphQlSource);
+    }
+
+    @Bean
+    public FederationEngine federationEngine(List<Subgraph> subgraphs, SupergraphComposer composer,
+                                             FederationProperties properties, ObservationRegistry observationRegistry,
+                                             MeterRegistry meterRegistry) {
+        FederationEngine engine = new FederationEngine(subgraphs, composer, new QueryPlanner(), properties, observationRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, engine.plans(), "gateway.query-plans");
+        return engine;
+    }
+
+    @Bean
+    public DeadlineInterceptor deadlineInterceptor(FederationProperties properties) {
+        return new DeadlineInterceptor(properties);
+    }
+
+    @Bean
+    public OperationHashInterceptor operationHashInterceptor() {
+        return new OperationHashInterceptor();
+    }
+
+    @Bean
+    public FederationWiringConfigurer federationWiringConfigurer(FederationEngine engine) {
+        return new FederationWiringConfigurer(new FederatedDataFetcher(engine));
+    }
+
+    private static Subgraph subgraph(String name, WebClient webClient, DownstreamProperties.Downstream downstream) {
+        return new Subgraph(name, HttpGraphQlClient.builder(webClient)
+                .url(downstream.url() + "/graphql")
+                .build());
+    }
+}
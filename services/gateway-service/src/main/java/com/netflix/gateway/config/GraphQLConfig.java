@@ -1,11 +1,17 @@
 package com.netflix.gateway.config;
 
+import com.netflix.common.graphql.document.PersistedQueryConfig;
+import com.netflix.gateway.cost.QueryCostProperties;
 import graphql.scalars.ExtendedScalars;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.graphql.execution.RuntimeWiringConfigurer;
 
 @Configuration
+@Import(PersistedQueryConfig.class)
+@EnableConfigurationProperties(QueryCostProperties.class)
 public class GraphQLConfig {
 
     @Bean
@@ -0,0 +1,28 @@
+package com.netflix.gateway.config;
+
+import com.netflix.common.tracing.FileSpanExporter;
+import com.netflix.gateway.tracing.OperationNameObservationConvention;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ObservabilityConfig {
+
+    // Used by Boot's GraphQL observation instrumentation for the graphql.request span
+    @Bean
+    public OperationNameObservationConvention operationNameObservationConvention() {
+        return new OperationNameObservationConvention();
+    }
+
+    // Picked up by Boot's OpenTelemetry setup alongside any other SpanExporter beans.
+    // Only with the trace-file profile, which also samples every request
+    @Bean
+    @Profile("trace-file")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file}") String file) {
+        return new FileSpanExporter(Path.of(file));
+    }
+}
@@ -0,0 +1,34 @@
+package com.netflix.gateway.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.gateway.cache.CacheControlInstrumentation;
+import com.netflix.gateway.cache.ResponseCacheInterceptor;
+import com.netflix.gateway.cache.ResponseCacheProperties;
+import com.netflix.gateway.cost.QueryCostProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Response cache for query operations, switched off with {@code gateway.response-cache.enabled=false}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "gateway.response-cache", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    @Bean
+    public CacheControlInstrumentation cacheControlInstrumentation() {
+        return new CacheControlInstrumentation();
+    }
+
+    @Bean
+    public ResponseCacheInterceptor responseCacheInterceptor(ResponseCacheProperties properties,
+                                                             QueryCostProperties costProperties,
+                                                             ObjectMapper objectMapper,
+                                                             MeterRegistry meterRegistry) {
+        return new ResponseCacheInterceptor(properties, costProperties, objectMapper, meterRegistry);
+    }
+}
@@ -1,14 +1,63 @@
 package com.netflix.gateway.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.util.function.Function;
+
+/**
+ * One non-blocking WebClient per downstream service, each with its own Reactor Netty
+ * connection pool so a slow service cannot starve the others of connections.
+ */
 @Configuration
+@EnableConfigurationProperties(DownstreamProperties.class)
 public class WebClientConfig {
 
     @Bean
-    public WebClient webClient() {
-        return WebClient.builder().build();
+    public WebClient moviesWebClient(WebClient.Builder builder, DownstreamProperties properties) {
+        return downstreamWebClient(builder, "movies", properties.movies());
+    }
+
+    @Bean
+    public WebClient usersWebClient(WebClient.Builder builder, DownstreamProperties properties) {
+        return downstreamWebClient(builder, "users", properties.users());
+    }
+
+    @Bean
+    public WebClient reviewsWebClient(WebClient.Builder builder, DownstreamProperties properties) {
+        return downstreamWebClient(builder, "reviews", properties.reviews());
+    }
+
+    private WebClient downstreamWebClient(WebClient.Builder builder, String name, DownstreamProperties.Downstream downstream) {
+        // Pool metrics are published as reactor.netty.connection.provider.* tagged with the pool name
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(downstream.maxConnections())
+                .pendingAcquireMaxCount(downstream.maxPendingAcquires())
+                .pendingAcquireTimeout(downstream.pendingAcquireTimeout())
+                .maxIdleTime(downstream.maxIdleTime())
+                .metrics(true)
+                .build();
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) downstream.connectTimeout().toMillis())
+                .responseTimeout(downstream.responseTimeout())
+                .metrics(true, Function.identity());
+        if (downstream.http2()) {
+            // Cleartext HTTP/2 with fallback to HTTP/1.1 for services that do not support it
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+
+        // The Boot-configured builder adds the shared Jackson setup and http.client.requests metrics
+        return builder.clone()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
     }
 }
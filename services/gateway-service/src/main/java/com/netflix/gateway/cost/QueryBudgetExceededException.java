@@ -0,0 +1,23 @@
+package com.netflix.gateway.cost;
+
+import graphql.execution.AbortExecutionException;
+
+import java.util.Map;
+
+/**
+ * Rejects a query before execution, carrying the computed cost in the error extensions.
+ */
+public class QueryBudgetExceededException extends AbortExecutionException {
+
+    private final Map<String, Object> extensions;
+
+    public QueryBudgetExceededException(String message, QueryCost cost) {
+        super(message);
+        this.extensions = Map.of("code", "QUERY_BUDGET_EXCEEDED", "cost", cost.toMap());
+    }
+
+    @Override
+    public Map<String, Object> getExtensions() {
+        return extensions;
+    }
+}
@@ -0,0 +1,19 @@
+package com.netflix.gateway.cost;
+
+import java.util.Map;
+
+public record QueryCost(long requested, long budget, int depth, int maxDepth) {
+
+    public QueryCost withBudget(long budget) {
+        return new QueryCost(requested, budget, depth, maxDepth);
+    }
+
+    public Map<String, Object> toMap() {
+        return Map.of(
+                "requested", requested,
+                "budget", budget,
+                "depth", depth,
+                "maxDepth", maxDepth
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package com.netflix.gateway.cost;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Identifies the client by its API key and puts the client name into the GraphQL
+ * context, where the cost instrumentation picks the client's budget. Callers without
+ * a known key get the default budget.
+ */
+@Component
+public class QueryCostClientInterceptor implements WebGraphQlInterceptor {
+
+    public static final String CLIENT_NAME = "queryCost.clientName";
+
+    @Autowired
+    private QueryCostProperties properties;
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String client = properties.clientFor(request.getHeaders().getFirst(properties.apiKeyHeader()));
+        if (client != null) {
+            request.configureExecutionInput((input, builder) ->
+                    builder.graphQLContext(Map.of(CLIENT_NAME, client)).build());
+        }
+        return chain.next(request);
+    }
+}
@@ -0,0 +1,170 @@
+package com.netflix.gateway.cost;
+
+import graphql.ExecutionResult;
+import graphql.GraphQLContext;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Computes the cost of each operation before it executes and rejects operations
+ * that are too deep or over the client's budget.
+ *
+ * <p>A field costs {@code listSize * (weight + cost of its selections)}. The list
+ * size is the {@code first} argument when present, otherwise the default list size
+ * for connections and lists; edges of a connection are already bounded by the
+ * connection's page size. The cost is reported under {@code extensions.cost}.
+ */
+@Component
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    private static final String DEFAULT_CLIENT = "default";
+
+    @Autowired
+    private QueryCostProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        String client = context.getGraphQLContext().get(QueryCostClientInterceptor.CLIENT_NAME);
+        // Only clients with their own budget get their own metric tag
+        String clientTag = client != null && properties.clientBudgets().containsKey(client) ? client : DEFAULT_CLIENT;
+
+        QueryCost cost = analyze(context, properties.budgetFor(client));
+        DistributionSummary.builder("graphql.query.cost")
+                .description("Computed cost of GraphQL operations")
+                .tag("client", clientTag)
+                .register(meterRegistry)
+                .record(cost.requested());
+
+        if (cost.depth() > cost.maxDepth()) {
+            reject(clientTag, "depth");
+            throw new QueryBudgetExceededException(
+                    "Query depth " + cost.depth() + " exceeds the maximum of " + cost.maxDepth(), cost);
+        }
+        if (cost.requested() > cost.budget()) {
+            reject(clientTag, "cost");
+            throw new QueryBudgetExceededException(
+                    "Query cost " + cost.requested() + " exceeds the budget of " + cost.budget(), cost);
+        }
+
+        context.getGraphQLContext().put(QueryCost.class, cost);
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    @Override
+    public CompletableFuture<ExecutionResult> instrumentExecutionResult(
+            ExecutionResult executionResult, InstrumentationExecutionParameters parameters, InstrumentationState state) {
+        GraphQLContext graphQLContext = parameters.getGraphQLContext();
+        QueryCost cost = graphQLContext != null ? graphQLContext.get(QueryCost.class) : null;
+        if (cost == null) {
+            return CompletableFuture.completedFuture(executionResult);
+        }
+        return CompletableFuture.completedFuture(
+                executionResult.transform(builder -> builder.addExtension("cost", cost.toMap())));
+    }
+
+    private QueryCost analyze(ExecutionContext context, long budget) {
+        QueryTraverser traverser = QueryTraverser.newQueryTraverser()
+                .schema(context.getGraphQLSchema())
+                .document(context.getDocument())
+                .operationName(context.getExecutionInput().getOperationName())
+                .coercedVariables(context.getCoercedVariables())
+                .build();
+
+        // Cost of the selections of each field, the null key holds the operation total
+        Map<QueryVisitorFieldEnvironment, Long> selectionCosts = new HashMap<>();
+        int[] maxDepth = {0};
+        traverser.visitPostOrder(new QueryVisitorStub() {
+            @Override
+            public void visitField(QueryVisitorFieldEnvironment env) {
+                int depth = depth(env);
+                if (depth == 0) {
+                    return;
+                }
+                long cost = fieldCost(env, selectionCosts.getOrDefault(env, 0L));
+                selectionCosts.merge(env.getParentEnvironment(), cost, QueryCostInstrumentation::saturatedAdd);
+                maxDepth[0] = Math.max(maxDepth[0], depth);
+            }
+        });
+
+        return new QueryCost(selectionCosts.getOrDefault(null, 0L), budget, maxDepth[0], properties.maxDepth());
+    }
+
+    private long fieldCost(QueryVisitorFieldEnvironment env, long selectionCost) {
+        GraphQLFieldsContainer parentType = env.getFieldsContainer();
+        GraphQLOutputType type = env.getFieldDefinition().getType();
+        String coordinate = parentType.getName() + "." + env.getField().getName();
+        int weight = properties.weights().getOrDefault(coordinate, GraphQLTypeUtil.isLeaf(type) ? 0 : 1);
+        long itemCost = saturatedAdd(weight, selectionCost);
+        long listSize = listSize(env, parentType, type);
+        return itemCost > Long.MAX_VALUE / listSize ? Long.MAX_VALUE : listSize * itemCost;
+    }
+
+    private long listSize(QueryVisitorFieldEnvironment env, GraphQLFieldsContainer parentType, GraphQLOutputType type) {
+        if (env.getArguments().get("first") instanceof Number first) {
+            return Math.max(first.longValue(), 1);
+        }
+        if (GraphQLTypeUtil.unwrapAll(type).getName().endsWith("Connection")) {
+            return properties.defaultListSize();
+        }
+        if (parentType.getName().endsWith("Connection")) {
+            return 1;
+        }
+        return GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type)) ? properties.defaultListSize() : 1;
+    }
+
+    // Zero for introspection (GraphiQL's schema query, __typename), which is neither costed nor depth-limited
+    private int depth(QueryVisitorFieldEnvironment env) {
+        int depth = 0;
+        for (QueryVisitorFieldEnvironment current = env; current != null; current = current.getParentEnvironment()) {
+            if (isIntrospection(current)) {
+                return 0;
+            }
+            depth++;
+        }
+        return depth;
+    }
+
+    private static boolean isIntrospection(QueryVisitorFieldEnvironment env) {
+        return env.getField().getName().startsWith("__");
+    }
+
+    // Abusive queries must not overflow into a small or negative cost
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private void reject(String client, String reason) {
+        Counter.builder("graphql.query.rejected")
+                .description("GraphQL operations rejected by the cost analysis")
+                .tag("client", client)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
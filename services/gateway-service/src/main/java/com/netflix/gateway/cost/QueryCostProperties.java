@@ -0,0 +1,55 @@
+package com.netflix.gateway.cost;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Query cost limits, bound from {@code gateway.query-cost.*}.
+ *
+ * @param weights      cost of one resolved value of a field, keyed by {@code Type.field};
+ *                     defaults to 1 for object fields and 0 for scalar fields
+ * @param apiKeys      client name per API key (sent in {@code apiKeyHeader}), keyed by the
+ *                     lower-case SHA-256 hex digest of the key so the configuration holds
+ *                     no usable secrets
+ * @param clientBudgets max cost per client name, callers without a known API key and
+ *                     clients without an entry get {@code maxCost}
+ */
+@ConfigurationProperties(prefix = "gateway.query-cost")
+public record QueryCostProperties(
+        @DefaultValue("5000") long maxCost,
+        @DefaultValue("10") int maxDepth,
+        @DefaultValue("20") int defaultListSize,
+        @DefaultValue("X-Api-Key") String apiKeyHeader,
+        @DefaultValue Map<String, Integer> weights,
+        @DefaultValue Map<String, String> apiKeys,
+        @DefaultValue Map<String, Long> clientBudgets
+) {
+    /**
+     * The client an API key belongs to, or null for a missing or unknown key.
+     */
+    public String clientFor(String apiKey) {
+        if (apiKey == null || apiKey.isBlank()) {
+            return null;
+        }
+        return apiKeys.get(sha256Hex(apiKey));
+    }
+
+    public long budgetFor(String client) {
+        return client != null ? clientBudgets.getOrDefault(client, maxCost) : maxCost;
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
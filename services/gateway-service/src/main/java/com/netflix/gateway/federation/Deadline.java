@@ -0,0 +1,19 @@
+package com.netflix.gateway.federation;
+
+import java.time.Duration;
+
+/**
+ * Point in time by which an operation must complete, shared by all of its subgraph fetches.
+ */
+public record Deadline(long nanoTime) {
+
+    public static final String CONTEXT_KEY = "federation.deadline";
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(nanoTime - System.nanoTime());
+    }
+}
@@ -0,0 +1,44 @@
+package com.netflix.gateway.federation;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Starts the operation's deadline and puts it into the GraphQL context. Clients may ask
+ * for a shorter one in milliseconds through the deadline header, never a longer one.
+ */
+public class DeadlineInterceptor implements WebGraphQlInterceptor {
+
+    private final FederationProperties properties;
+
+    public DeadlineInterceptor(FederationProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        Deadline deadline = Deadline.after(timeout(request.getHeaders().getFirst(properties.deadlineHeader())));
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(Deadline.CONTEXT_KEY, deadline)).build());
+        return chain.next(request);
+    }
+
+    private Duration timeout(String header) {
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis > 0 && millis < properties.deadline().toMillis()) {
+                    return Duration.ofMillis(millis);
+                }
+            } catch (NumberFormatException e) {
+                // Malformed values fall back to the default deadline
+            }
+        }
+        return properties.deadline();
+    }
+}
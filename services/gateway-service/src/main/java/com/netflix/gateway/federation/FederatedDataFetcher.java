@@ -0,0 +1,71 @@
+package com.netflix.gateway.federation;
+
+import graphql.GraphQLContext;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.DataFetcherResult;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.execution.ErrorType;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Resolves the root fields of an operation from one federated execution, started by the
+ * first root field and shared with the others through the GraphQL context.
+ */
+@Slf4j
+public class FederatedDataFetcher implements DataFetcher<CompletableFuture<DataFetcherResult<Object>>> {
+
+    private static final String RESULT = FederatedDataFetcher.class.getName() + ".result";
+
+    private final FederationEngine engine;
+
+    public FederatedDataFetcher(FederationEngine engine) {
+        this.engine = engine;
+    }
+
+    @Override
+    public CompletableFuture<DataFetcherResult<Object>> get(DataFetchingEnvironment environment) {
+        CompletableFuture<FederatedResult> result = sharedResult(environment);
+        String responseKey = ResultKeyDataFetcher.resultKey(environment.getField());
+        return result.handle((federated, failure) -> failure == null
+                ? DataFetcherResult.<Object>newResult()
+                        .data(federated.data().get(responseKey))
+                        .errors(federated.errorsFor(responseKey))
+                        .build()
+                : DataFetcherResult.<Object>newResult()
+                        .error(operationFailed(environment, failure))
+                        .build());
+    }
+
+    // Root fields may be fetched concurrently, only the first one starts the execution
+    private CompletableFuture<FederatedResult> sharedResult(DataFetchingEnvironment environment) {
+        GraphQLContext context = environment.getGraphQlContext();
+        synchronized (context) {
+            CompletableFuture<FederatedResult> result = context.get(RESULT);
+            if (result == null) {
+                result = engine.execute(environment).toFuture();
+                context.put(RESULT, result);
+            }
+            return result;
+        }
+    }
+
+    private static GraphQLError operationFailed(DataFetchingEnvironment environment, Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        if (cause instanceof QueryPlanningException) {
+            return GraphqlErrorBuilder.newError(environment)
+                    .message(cause.getMessage())
+                    .errorType(ErrorType.BAD_REQUEST)
+                    .build();
+        }
+        log.warn("Federated execution failed: {}", cause.toString());
+        return GraphqlErrorBuilder.newError(environment)
+                .message("Operation could not be executed against the subgraphs")
+                .errorType(ErrorType.INTERNAL_ERROR)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.netflix.gateway.federation;
+
+import graphql.GraphQLError;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The merged subgraph responses for one operation. Every error carries a path,
+ * so it can be reported by the root field it belongs to.
+ */
+public record FederatedResult(Map<String, Object> data, List<GraphQLError> errors) {
+
+    public List<GraphQLError> errorsFor(String responseKey) {
+        return errors.stream()
+                .filter(error -> error.getPath() != null && !error.getPath().isEmpty())
+                .filter(error -> responseKey.equals(error.getPath().get(0)))
+                .toList();
+    }
+}
@@ -0,0 +1,322 @@
+package com.netflix.gateway.federation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.graphql.ResponseError;
+import org.springframework.graphql.client.ClientGraphQlResponse;
+import org.springframework.graphql.execution.ErrorType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Executes gateway operations as query plans over the subgraphs. Plans are cached per
+ * operation hash; fetches that do not depend on each other run in parallel, and each
+ * entity fetch starts as soon as the fetch it depends on has been merged. Every fetch is
+ * bounded by the operation's deadline, and a fetch that misses it only fails its own fields.
+ */
+@Slf4j
+public class FederationEngine {
+
+    private final Map<String, Subgraph> subgraphs;
+    private final SupergraphComposer composer;
+    private final QueryPlanner planner;
+    private final ObservationRegistry observationRegistry;
+    private final FederationProperties properties;
+    private final Cache<String, QueryPlan> plans;
+
+    public FederationEngine(List<Subgraph> subgraphs, SupergraphComposer composer, QueryPlanner planner,
+                            FederationProperties properties, ObservationRegistry observationRegistry) {
+        this.subgraphs = subgraphs.stream().collect(Collectors.toMap(Subgraph::name, Function.identity()));
+        this.composer = composer;
+        this.planner = planner;
+        this.observationRegistry = observationRegistry;
+        this.properties = properties;
+        this.plans = Caffeine.newBuilder()
+                .maximumSize(properties.planCacheSize())
+                .recordStats()
+                .build();
+    }
+
+    public Cache<String, QueryPlan> plans() {
+        return plans;
+    }
+
+    public Mono<FederatedResult> execute(DataFetchingEnvironment environment) {
+        Observation parent = environment.getGraphQlContext()
+                .getOrDefault(ObservationThreadLocalAccessor.KEY, observationRegistry.getCurrentObservation());
+        Deadline deadline = environment.getGraphQlContext()
+                .getOrDefault(Deadline.CONTEXT_KEY, Deadline.after(properties.deadline()));
+        return composer.current()
+                .map(supergraph -> plan(environment, supergraph))
+                .flatMap(plan -> new Execution(environment.getVariables(), parent, deadline).execute(plan));
+    }
+
+    private QueryPlan plan(DataFetchingEnvironment environment, Supergraph supergraph) {
+        String hash = environment.getGraphQlContext().get(OperationHashInterceptor.OPERATION_HASH);
+        if (hash == null) {
+            return planner.plan(environment.getOperationDefinition(), environment.getFragmentsByName(),
+                    environment.getGraphQLSchema(), supergraph);
+        }
+        return plans.get(hash, key -> planner.plan(environment.getOperationDefinition(), environment.getFragmentsByName(),
+                environment.getGraphQLSchema(), supergraph));
+    }
+
+    /**
+     * One run of a plan. Subgraph responses are merged into a single response tree,
+     * guarded by {@code lock} because sibling fetches complete on different threads.
+     */
+    private final class Execution {
+
+        private final Map<String, Object> variables;
+        private final Observation parent;
+        private final Deadline deadline;
+        private final Object lock = new Object();
+        private final Map<String, Object> data = new LinkedHashMap<>();
+        private final List<GraphQLError> errors = Collections.synchronizedList(new ArrayList<>());
+
+        Execution(Map<String, Object> variables, Observation parent, Deadline deadline) {
+            this.variables = variables;
+            this.parent = parent;
+            this.deadline = deadline;
+        }
+
+        Mono<FederatedResult> execute(QueryPlan plan) {
+            Flux<FetchNode> fetches = Flux.fromIterable(plan.fetches());
+            Mono<Void> done = plan.operation() == OperationDefinition.Operation.MUTATION
+                    ? fetches.concatMap(this::execute).then()
+                    : fetches.flatMap(this::execute).then();
+            return done.then(Mono.fromSupplier(() -> new FederatedResult(data, List.copyOf(errors))));
+        }
+
+        private Mono<Void> execute(FetchNode fetch) {
+            Mono<Void> fetched = fetch.isEntityFetch() ? fetchEntities(fetch) : fetchRoot(fetch);
+            return fetched.then(Flux.fromIterable(fetch.children()).flatMap(this::execute).then());
+        }
+
+        private Mono<Void> fetchRoot(FetchNode fetch) {
+            return request(fetch, variables(fetch))
+                    .doOnNext(response -> {
+                        Map<String, Object> fetchedData = response.getData();
+                        if (fetchedData != null) {
+                            synchronized (lock) {
+                                data.putAll(fetchedData);
+                            }
+                        }
+                        for (ResponseError error : response.getErrors()) {
+                            if (error.getParsedPath().isEmpty()) {
+                                fetch.responseKeys().forEach(key -> errors.add(subgraphError(fetch, error, List.of(key))));
+                            } else {
+                                errors.add(subgraphError(fetch, error, error.getParsedPath()));
+                            }
+                        }
+                    })
+                    .onErrorResume(failure -> {
+                        fetchFailed(fetch, failure, fetch.responseKeys().stream().<List<Object>>map(List::of).toList());
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        private Mono<Void> fetchEntities(FetchNode fetch) {
+            // Objects with the same key share one representation
+            Map<Map<String, Object>, List<Target>> references = new LinkedHashMap<>();
+            synchronized (lock) {
+                List<Target> targets = new ArrayList<>();
+                collect(data, fetch.path(), 0, new ArrayList<>(), targets);
+                for (Target target : targets) {
+                    Map<String, Object> representation = representation(fetch, target.object());
+                    if (representation != null) {
+                        references.computeIfAbsent(representation, key -> new ArrayList<>()).add(target);
+                    }
+                }
+            }
+            if (references.isEmpty()) {
+                return Mono.empty();
+            }
+
+            List<List<Target>> targets = new ArrayList<>(references.values());
+            Map<String, Object> fetchVariables = variables(fetch);
+            fetchVariables.put(QueryPlanner.REPRESENTATIONS, new ArrayList<>(references.keySet()));
+            return request(fetch, fetchVariables)
+                    .doOnNext(response -> {
+                        Map<String, Object> fetchedData = response.getData();
+                        if (fetchedData != null && fetchedData.get("_entities") instanceof List<?> entities) {
+                            synchronized (lock) {
+                                for (int i = 0; i < entities.size() && i < targets.size(); i++) {
+                                    merge(entities.get(i), targets.get(i));
+                                }
+                            }
+                        }
+                        for (ResponseError error : response.getErrors()) {
+                            for (List<Object> path : entityErrorPaths(error.getParsedPath(), targets)) {
+                                errors.add(subgraphError(fetch, error, path));
+                            }
+                        }
+                    })
+                    .onErrorResume(failure -> {
+                        // Every object the fetch was to complete is missing its fields
+                        fetchFailed(fetch, failure, allPaths(targets));
+                        return Mono.empty();
+                    })
+                    .then();
+        }
+
+        private Mono<ClientGraphQlResponse> request(FetchNode fetch, Map<String, Object> fetchVariables) {
+            Subgraph subgraph = subgraphs.get(fetch.subgraph());
+            return Mono.defer(() -> {
+                Duration remaining = deadline.remaining();
+                if (remaining.isNegative() || remaining.isZero()) {
+                    return Mono.error(new TimeoutException("Request deadline passed before the fetch started"));
+                }
+                Observation observation = Observation.createNotStarted("gateway.fetch", observationRegistry)
+                        .contextualName("fetch " + fetch.subgraph())
+                        .lowCardinalityKeyValue("subgraph", fetch.subgraph())
+                        .lowCardinalityKeyValue("kind", fetch.isEntityFetch() ? "entities" : "root")
+                        .parentObservation(parent)
+                        .start();
+                // Subgraphs receive the time left; the call is cancelled when it runs out
+                return subgraph.client().mutate()
+                        .header(properties.deadlineHeader(), String.valueOf(remaining.toMillis()))
+                        .build()
+                        .document(fetch.query())
+                        .variables(fetchVariables)
+                        .execute()
+                        .timeout(remaining)
+                        .doOnError(observation::error)
+                        .doFinally(signal -> observation.stop())
+                        .contextWrite(context -> context.put(ObservationThreadLocalAccessor.KEY, observation));
+            });
+        }
+
+        private Map<String, Object> variables(FetchNode fetch) {
+            Map<String, Object> fetchVariables = new LinkedHashMap<>();
+            fetch.variables().stream()
+                    .filter(variables::containsKey)
+                    .forEach(name -> fetchVariables.put(name, variables.get(name)));
+            return fetchVariables;
+        }
+
+        private void fetchFailed(FetchNode fetch, Throwable failure, List<List<Object>> paths) {
+            boolean deadlineExceeded = failure instanceof TimeoutException;
+            String message;
+            Map<String, Object> extensions;
+            if (deadlineExceeded) {
+                log.warn("Fetch from subgraph {} missed the request deadline", fetch.subgraph());
+                message = "Subgraph " + fetch.subgraph() + " did not respond before the request deadline";
+                extensions = Map.of("subgraph", fetch.subgraph(), "code", "DEADLINE_EXCEEDED");
+            } else {
+                log.warn("Fetch from subgraph {} failed: {}", fetch.subgraph(), failure.toString());
+                message = "Subgraph " + fetch.subgraph() + " request failed";
+                extensions = Map.of("subgraph", fetch.subgraph());
+            }
+            for (List<Object> path : paths) {
+                errors.add(GraphqlErrorBuilder.newError()
+                        .message(message)
+                        .path(path)
+                        .errorType(ErrorType.INTERNAL_ERROR)
+                        .extensions(extensions)
+                        .build());
+            }
+        }
+    }
+
+    private record Target(Map<String, Object> object, List<Object> path) {}
+
+    /**
+     * Finds the objects at a plan path, with the concrete path of each for error reporting.
+     */
+    @SuppressWarnings("unchecked")
+    private static void collect(Object value, List<Object> path, int index, List<Object> concretePath, List<Target> out) {
+        if (value == null) {
+            return;
+        }
+        if (index == path.size()) {
+            if (value instanceof Map<?, ?> object) {
+                out.add(new Target((Map<String, Object>) object, List.copyOf(concretePath)));
+            }
+            return;
+        }
+        Object segment = path.get(index);
+        if (FetchNode.LIST_PATH_SEGMENT.equals(segment)) {
+            if (value instanceof List<?> list) {
+                for (int i = 0; i < list.size(); i++) {
+                    concretePath.add(i);
+                    collect(list.get(i), path, index + 1, concretePath, out);
+                    concretePath.remove(concretePath.size() - 1);
+                }
+            }
+        } else if (value instanceof Map<?, ?> object) {
+            concretePath.add(segment);
+            collect(object.get(segment), path, index + 1, concretePath, out);
+            concretePath.remove(concretePath.size() - 1);
+        }
+    }
+
+    private static Map<String, Object> representation(FetchNode fetch, Map<String, Object> object) {
+        Map<String, Object> representation = new LinkedHashMap<>();
+        representation.put("__typename", fetch.typeName());
+        for (String keyField : fetch.keyFields()) {
+            Object value = object.get(QueryPlanner.KEY_ALIAS_PREFIX + keyField);
+            if (value == null) {
+                return null;
+            }
+            representation.put(keyField, value);
+        }
+        return representation;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void merge(Object entity, List<Target> targets) {
+        if (entity instanceof Map<?, ?> fields) {
+            targets.forEach(target -> target.object().putAll((Map<String, Object>) fields));
+        }
+    }
+
+    // Errors of _entities(representations:) point at a representation index, reported at every object
+    // sharing that representation; errors without one are reported at every object of the fetch
+    private static List<List<Object>> entityErrorPaths(List<Object> path, List<List<Target>> targets) {
+        if (path.size() >= 2 && path.get(1) instanceof Integer index && index < targets.size()) {
+            List<Object> fieldPath = path.subList(2, path.size());
+            return targets.get(index).stream()
+                    .<List<Object>>map(target -> {
+                        List<Object> resolved = new ArrayList<>(target.path());
+                        resolved.addAll(fieldPath);
+                        return resolved;
+                    })
+                    .toList();
+        }
+        return allPaths(targets);
+    }
+
+    private static List<List<Object>> allPaths(List<List<Target>> targets) {
+        return targets.stream().flatMap(List::stream).map(Target::path).toList();
+    }
+
+    private static GraphQLError subgraphError(FetchNode fetch, ResponseError error, List<Object> path) {
+        Map<String, Object> extensions = new LinkedHashMap<>(error.getExtensions());
+        extensions.put("subgraph", fetch.subgraph());
+        return GraphqlErrorBuilder.newError()
+                .message(error.getMessage())
+                .path(path)
+                .extensions(extensions)
+                .build();
+    }
+}
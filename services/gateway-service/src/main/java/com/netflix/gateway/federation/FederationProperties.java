@@ -0,0 +1,21 @@
+package com.netflix.gateway.federation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Federation engine settings, bound from {@code gateway.federation.*}.
+ *
+ * @param deadline       time an operation has for all of its subgraph fetches
+ * @param deadlineHeader header carrying the remaining time in milliseconds, read from
+ *                       clients and sent to subgraphs
+ */
+@ConfigurationProperties(prefix = "gateway.federation")
+public record FederationProperties(
+        @DefaultValue("1000") long planCacheSize,
+        @DefaultValue("3s") Duration deadline,
+        @DefaultValue("X-Request-Timeout") String deadlineHeader
+) {
+}
@@ -0,0 +1,47 @@
+package com.netflix.gateway.federation;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.idl.FieldWiringEnvironment;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.WiringFactory;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Resolves root fields through the federation engine and every other field from the
+ * merged subgraph responses.
+ */
+public class FederationWiringConfigurer implements RuntimeWiringConfigurer {
+
+    private static final Set<String> ROOT_TYPES = Set.of("Query", "Mutation");
+
+    private final FederatedDataFetcher rootDataFetcher;
+
+    public FederationWiringConfigurer(FederatedDataFetcher rootDataFetcher) {
+        this.rootDataFetcher = rootDataFetcher;
+    }
+
+    @Override
+    public void configure(RuntimeWiring.Builder builder) {
+    }
+
+    @Override
+    public void configure(RuntimeWiring.Builder builder, List<WiringFactory> container) {
+        container.add(new WiringFactory() {
+
+            @Override
+            public boolean providesDataFetcher(FieldWiringEnvironment environment) {
+                return true;
+            }
+
+            @Override
+            public DataFetcher<?> getDataFetcher(FieldWiringEnvironment environment) {
+                return ROOT_TYPES.contains(environment.getParentType().getName())
+                        ? rootDataFetcher
+                        : ResultKeyDataFetcher.INSTANCE;
+            }
+        });
+    }
+}
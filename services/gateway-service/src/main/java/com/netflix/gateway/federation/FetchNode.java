@@ -0,0 +1,37 @@
+package com.netflix.gateway.federation;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * One subgraph request of a query plan. A root fetch selects root fields; an entity
+ * fetch resolves, through {@code _entities}, the objects of {@code typeName} found at
+ * {@code path} in earlier results ({@code "@"} steps into every list element).
+ * Children depend on this fetch and run in parallel once it has completed.
+ *
+ * @param variables     operation variables the query declares
+ * @param responseKeys  root fields selected by a root fetch, for attributing its errors
+ */
+public record FetchNode(
+        String subgraph,
+        String query,
+        Set<String> variables,
+        List<Object> path,
+        String typeName,
+        List<String> keyFields,
+        List<String> responseKeys,
+        List<FetchNode> children
+) {
+    public static final String LIST_PATH_SEGMENT = "@";
+
+    public boolean isEntityFetch() {
+        return !path.isEmpty();
+    }
+
+    /**
+     * Sequential subgraph round trips from this fetch to its deepest dependent fetch.
+     */
+    public int depth() {
+        return 1 + children.stream().mapToInt(FetchNode::depth).max().orElse(0);
+    }
+}
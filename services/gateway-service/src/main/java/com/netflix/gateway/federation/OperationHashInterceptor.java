@@ -0,0 +1,38 @@
+package com.netflix.gateway.federation;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Puts the sha256 hash of the operation name and document into the GraphQL context,
+ * where the federation engine looks up the operation's cached query plan.
+ */
+public class OperationHashInterceptor implements WebGraphQlInterceptor {
+
+    public static final String OPERATION_HASH = "federation.operationHash";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        String hash = sha256Hex(request.getOperationName() + '\n' + request.getDocument());
+        request.configureExecutionInput((input, builder) ->
+                builder.graphQLContext(Map.of(OPERATION_HASH, hash)).build());
+        return chain.next(request);
+    }
+
+    private static String sha256Hex(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.netflix.gateway.federation;
+
+import graphql.language.OperationDefinition;
+
+import java.util.List;
+
+/**
+ * Subgraph fetches for one operation. Root fetches of a query run in parallel,
+ * those of a mutation in order.
+ */
+public record QueryPlan(OperationDefinition.Operation operation, List<FetchNode> fetches) {
+
+    public int depth() {
+        return fetches.stream().mapToInt(FetchNode::depth).max().orElse(0);
+    }
+}
@@ -0,0 +1,323 @@
+package com.netflix.gateway.federation;
+
+import graphql.language.Argument;
+import graphql.language.ArrayValue;
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.FragmentDefinition;
+import graphql.language.FragmentSpread;
+import graphql.language.InlineFragment;
+import graphql.language.ListType;
+import graphql.language.NonNullType;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.OperationDefinition.Operation;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.language.Type;
+import graphql.language.TypeName;
+import graphql.language.Value;
+import graphql.language.VariableDefinition;
+import graphql.language.VariableReference;
+import graphql.schema.GraphQLCompositeType;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInterfaceType;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.GraphQLTypeUtil;
+import graphql.schema.GraphQLUnionType;
+import graphql.schema.idl.TypeUtil;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Splits a gateway operation into subgraph fetches. A field stays in the subgraph that
+ * resolved its parent whenever that subgraph can resolve it, so an operation takes one
+ * round trip per subgraph boundary it crosses, and every field crossing the same boundary
+ * at the same path shares one {@code _entities} fetch.
+ * <p>
+ * {@code @skip} and {@code @include} are not forwarded: subgraphs may return fields the
+ * operation skips, and the gateway's own execution leaves them out of the response.
+ */
+public class QueryPlanner {
+
+    /** Key fields needed for entity fetches are selected under this alias prefix, clear of client aliases. */
+    static final String KEY_ALIAS_PREFIX = "_key_";
+    static final String REPRESENTATIONS = "_representations";
+
+    private static final String TYPENAME = "__typename";
+
+    public QueryPlan plan(OperationDefinition operation, Map<String, FragmentDefinition> fragments,
+                          GraphQLSchema schema, Supergraph supergraph) {
+        GraphQLObjectType rootType = switch (operation.getOperation()) {
+            case QUERY -> schema.getQueryType();
+            case MUTATION -> schema.getMutationType();
+            case SUBSCRIPTION -> throw new QueryPlanningException("Subscriptions are not supported by the gateway");
+        };
+        Planning planning = new Planning(schema, fragments, supergraph);
+
+        List<FetchBuilder> fetches = new ArrayList<>();
+        Map<String, List<Field>> rootFields = planning.collectFields(rootType, List.of(operation.getSelectionSet()));
+        for (Map.Entry<String, List<Field>> entry : rootFields.entrySet()) {
+            String fieldName = entry.getValue().get(0).getName();
+            if (fieldName.startsWith("__")) {
+                // Introspection is answered by the gateway itself
+                continue;
+            }
+            SubgraphSchema owner = supergraph.owner(rootType.getName(), fieldName);
+            if (owner == null) {
+                throw new QueryPlanningException("No subgraph resolves " + rootType.getName() + "." + fieldName);
+            }
+            FetchBuilder fetch = rootFetch(fetches, owner, operation.getOperation(), rootType.getName());
+            fetch.responseKeys.add(entry.getKey());
+            planning.planField(fetch, rootType, entry.getKey(), entry.getValue(), List.of(), fetch.selections);
+        }
+        return new QueryPlan(operation.getOperation(), fetches.stream().map(FetchBuilder::build).toList());
+    }
+
+    // Query fields are grouped per subgraph; mutation fields only with their neighbours, to keep their order
+    private static FetchBuilder rootFetch(List<FetchBuilder> fetches, SubgraphSchema owner,
+                                          Operation operation, String rootTypeName) {
+        FetchBuilder fetch;
+        if (operation == Operation.MUTATION) {
+            fetch = fetches.isEmpty() ? null : fetches.get(fetches.size() - 1);
+        } else {
+            fetch = fetches.stream().filter(candidate -> candidate.subgraph == owner).findFirst().orElse(null);
+        }
+        if (fetch == null || fetch.subgraph != owner) {
+            fetch = new FetchBuilder(owner, operation, rootTypeName, List.of(), List.of());
+            fetches.add(fetch);
+        }
+        return fetch;
+    }
+
+    private record Planning(GraphQLSchema schema, Map<String, FragmentDefinition> fragments, Supergraph supergraph) {
+
+        /**
+         * Adds a field the fetch's subgraph resolves, planning its selections below it.
+         */
+        void planField(FetchBuilder fetch, GraphQLObjectType parentType, String resultKey, List<Field> fields,
+                       List<Object> parentPath, List<Selection<?>> out) {
+            Field field = fields.get(0);
+            fetch.useVariables(parentType.getName(), field.getName(), field.getArguments());
+
+            GraphQLFieldDefinition definition = parentType.getFieldDefinition(field.getName());
+            GraphQLType fieldType = GraphQLTypeUtil.unwrapAll(definition.getType());
+            SelectionSet selectionSet = null;
+            if (fieldType instanceof GraphQLObjectType objectType) {
+                List<Object> path = append(parentPath, resultKey, definition.getType());
+                Set<String> provided = fetch.subgraph.providedFields(parentType.getName(), field.getName());
+                List<Selection<?>> selections = new ArrayList<>();
+                planSelections(fetch, objectType, collectFields(objectType, subSelections(fields)), path, provided, selections);
+                selectionSet = new SelectionSet(selections);
+            } else if (fieldType instanceof GraphQLCompositeType compositeType) {
+                throw new QueryPlanningException("Interfaces and unions are not supported by the gateway: " + compositeType.getName());
+            }
+
+            out.add(Field.newField(field.getName())
+                    .alias(resultKey.equals(field.getName()) ? null : resultKey)
+                    .arguments(field.getArguments())
+                    .selectionSet(selectionSet)
+                    .build());
+        }
+
+        /**
+         * Plans the selections on an object: fields the fetch's subgraph resolves go into
+         * {@code out}, the others into an entity fetch on the subgraph that owns them, keyed
+         * by key fields selected here.
+         */
+        void planSelections(FetchBuilder fetch, GraphQLObjectType type, Map<String, List<Field>> fields,
+                            List<Object> path, Set<String> provided, List<Selection<?>> out) {
+            String typeName = type.getName();
+            Set<String> selectedKeys = new HashSet<>();
+            for (Map.Entry<String, List<Field>> entry : fields.entrySet()) {
+                String fieldName = entry.getValue().get(0).getName();
+                if (TYPENAME.equals(fieldName)) {
+                    continue;
+                }
+                if (provided.contains(fieldName) || fetch.subgraph.definesField(typeName, fieldName)) {
+                    planField(fetch, type, entry.getKey(), entry.getValue(), path, out);
+                    continue;
+                }
+
+                SubgraphSchema owner = supergraph.entityOwner(typeName, fieldName);
+                if (owner == null) {
+                    throw new QueryPlanningException("No subgraph resolves " + typeName + "." + fieldName);
+                }
+                List<String> keyFields = owner.keyFields(typeName);
+                for (String keyField : keyFields) {
+                    if (!provided.contains(keyField) && !fetch.subgraph.definesField(typeName, keyField)) {
+                        throw new QueryPlanningException("Subgraph " + fetch.subgraph.name() + " cannot provide the key of "
+                                + typeName + " to resolve " + typeName + "." + fieldName + " in subgraph " + owner.name());
+                    }
+                    if (selectedKeys.add(keyField)) {
+                        out.add(Field.newField(keyField).alias(KEY_ALIAS_PREFIX + keyField).build());
+                    }
+                }
+                FetchBuilder entityFetch = fetch.entityFetch(owner, typeName, keyFields, path);
+                planField(entityFetch, type, entry.getKey(), entry.getValue(), path, entityFetch.selections);
+            }
+            if (out.isEmpty()) {
+                // Only __typename was selected, and a selection set cannot be empty
+                out.add(new Field(TYPENAME));
+            }
+        }
+
+        Map<String, List<Field>> collectFields(GraphQLObjectType type, List<SelectionSet> selectionSets) {
+            Map<String, List<Field>> fields = new LinkedHashMap<>();
+            selectionSets.forEach(selectionSet -> collectFields(type, selectionSet, fields));
+            return fields;
+        }
+
+        private void collectFields(GraphQLObjectType type, SelectionSet selectionSet, Map<String, List<Field>> fields) {
+            for (Selection<?> selection : selectionSet.getSelections()) {
+                if (selection instanceof Field field) {
+                    String resultKey = field.getAlias() != null ? field.getAlias() : field.getName();
+                    fields.computeIfAbsent(resultKey, key -> new ArrayList<>()).add(field);
+                } else if (selection instanceof InlineFragment fragment) {
+                    if (applies(type, fragment.getTypeCondition())) {
+                        collectFields(type, fragment.getSelectionSet(), fields);
+                    }
+                } else if (selection instanceof FragmentSpread spread) {
+                    FragmentDefinition fragment = fragments.get(spread.getName());
+                    if (fragment != null && applies(type, fragment.getTypeCondition())) {
+                        collectFields(type, fragment.getSelectionSet(), fields);
+                    }
+                }
+            }
+        }
+
+        private boolean applies(GraphQLObjectType type, TypeName typeCondition) {
+            if (typeCondition == null || typeCondition.getName().equals(type.getName())) {
+                return true;
+            }
+            GraphQLType conditionType = schema.getType(typeCondition.getName());
+            if (conditionType instanceof GraphQLInterfaceType interfaceType) {
+                return schema.getImplementations(interfaceType).contains(type);
+            }
+            return conditionType instanceof GraphQLUnionType unionType && unionType.isPossibleType(type);
+        }
+
+        private static List<SelectionSet> subSelections(List<Field> fields) {
+            return fields.stream().map(Field::getSelectionSet).filter(Objects::nonNull).toList();
+        }
+
+        private static List<Object> append(List<Object> parentPath, String resultKey, GraphQLOutputType type) {
+            List<Object> path = new ArrayList<>(parentPath);
+            path.add(resultKey);
+            GraphQLType current = GraphQLTypeUtil.unwrapNonNull(type);
+            while (GraphQLTypeUtil.isList(current)) {
+                path.add(FetchNode.LIST_PATH_SEGMENT);
+                current = GraphQLTypeUtil.unwrapNonNull(GraphQLTypeUtil.unwrapOne(current));
+            }
+            return List.copyOf(path);
+        }
+    }
+
+    private static final class FetchBuilder {
+
+        final SubgraphSchema subgraph;
+        final Operation operation;
+        final String typeName;
+        final List<String> keyFields;
+        final List<Object> path;
+        final List<Selection<?>> selections = new ArrayList<>();
+        final List<String> responseKeys = new ArrayList<>();
+        final Map<String, Type<?>> variables = new LinkedHashMap<>();
+        final List<FetchBuilder> children = new ArrayList<>();
+
+        FetchBuilder(SubgraphSchema subgraph, Operation operation, String typeName, List<String> keyFields, List<Object> path) {
+            this.subgraph = subgraph;
+            this.operation = operation;
+            this.typeName = typeName;
+            this.keyFields = keyFields;
+            this.path = path;
+        }
+
+        FetchBuilder entityFetch(SubgraphSchema owner, String entityTypeName, List<String> entityKeyFields, List<Object> entityPath) {
+            for (FetchBuilder child : children) {
+                if (child.subgraph == owner && child.path.equals(entityPath)) {
+                    return child;
+                }
+            }
+            FetchBuilder child = new FetchBuilder(owner, Operation.QUERY, entityTypeName, entityKeyFields, entityPath);
+            children.add(child);
+            return child;
+        }
+
+        /**
+         * Declares the variables an argument uses, typed as the subgraph declares the
+         * argument, which may differ from the gateway type.
+         */
+        void useVariables(String parentTypeName, String fieldName, List<Argument> arguments) {
+            for (Argument argument : arguments) {
+                useVariables(argument.getValue(), subgraph.argumentType(parentTypeName, fieldName, argument.getName()),
+                        parentTypeName + "." + fieldName + "(" + argument.getName() + ")");
+            }
+        }
+
+        private void useVariables(Value<?> value, Type<?> type, String location) {
+            if (value instanceof VariableReference reference) {
+                if (type == null) {
+                    throw new QueryPlanningException("Subgraph " + subgraph.name() + " does not accept " + location);
+                }
+                variables.putIfAbsent(reference.getName(), type);
+            } else if (value instanceof ObjectValue object) {
+                String inputTypeName = type != null ? TypeUtil.unwrapAll(type).getName() : null;
+                for (ObjectField objectField : object.getObjectFields()) {
+                    Type<?> fieldType = inputTypeName != null ? subgraph.inputFieldType(inputTypeName, objectField.getName()) : null;
+                    useVariables(objectField.getValue(), fieldType, inputTypeName + "." + objectField.getName());
+                }
+            } else if (value instanceof ArrayValue array) {
+                Type<?> elementType = elementType(type);
+                for (Value<?> element : array.getValues()) {
+                    useVariables(element, elementType, location);
+                }
+            }
+        }
+
+        private static Type<?> elementType(Type<?> type) {
+            Type<?> nullable = type instanceof NonNullType nonNull ? nonNull.getType() : type;
+            return nullable instanceof ListType list ? list.getType() : nullable;
+        }
+
+        FetchNode build() {
+            List<VariableDefinition> definitions = new ArrayList<>();
+            SelectionSet selectionSet;
+            if (path.isEmpty()) {
+                selectionSet = new SelectionSet(selections);
+            } else {
+                definitions.add(new VariableDefinition(REPRESENTATIONS,
+                        new NonNullType(new ListType(new NonNullType(new TypeName("_Any"))))));
+                Field entities = Field.newField("_entities")
+                        .arguments(List.of(new Argument("representations", new VariableReference(REPRESENTATIONS))))
+                        .selectionSet(new SelectionSet(List.of(InlineFragment.newInlineFragment()
+                                .typeCondition(new TypeName(typeName))
+                                .selectionSet(new SelectionSet(selections))
+                                .build())))
+                        .build();
+                selectionSet = new SelectionSet(List.of(entities));
+            }
+            variables.forEach((name, type) -> definitions.add(new VariableDefinition(name, type)));
+
+            OperationDefinition definition = OperationDefinition.newOperationDefinition()
+                    .operation(operation)
+                    .variableDefinitions(definitions)
+                    .selectionSet(selectionSet)
+                    .build();
+            String query = AstPrinter.printAstCompact(Document.newDocument().definition(definition).build());
+            return new FetchNode(subgraph.name(), query, Set.copyOf(variables.keySet()), path, typeName, keyFields,
+                    List.copyOf(responseKeys), children.stream().map(FetchBuilder::build).toList());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.netflix.gateway.federation;
+
+/**
+ * The operation selects a field no subgraph can resolve from where it is selected.
+ */
+public class QueryPlanningException extends RuntimeException {
+
+    public QueryPlanningException(String message) {
+        super(message);
+    }
+}
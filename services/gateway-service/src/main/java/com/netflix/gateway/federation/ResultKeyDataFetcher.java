@@ -0,0 +1,27 @@
+package com.netflix.gateway.federation;
+
+import graphql.TrivialDataFetcher;
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+
+import java.util.Map;
+
+/**
+ * Reads a field from the subgraph response it was merged into. Subgraph queries keep
+ * the client's aliases, so values are found under the field's result key.
+ */
+public class ResultKeyDataFetcher implements TrivialDataFetcher<Object> {
+
+    public static final ResultKeyDataFetcher INSTANCE = new ResultKeyDataFetcher();
+
+    @Override
+    public Object get(DataFetchingEnvironment environment) {
+        return environment.getSource() instanceof Map<?, ?> source
+                ? source.get(resultKey(environment.getField()))
+                : null;
+    }
+
+    static String resultKey(Field field) {
+        return field.getAlias() != null ? field.getAlias() : field.getName();
+    }
+}
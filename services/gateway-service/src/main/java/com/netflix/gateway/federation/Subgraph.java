@@ -0,0 +1,9 @@
+package com.netflix.gateway.federation;
+
+import org.springframework.graphql.client.HttpGraphQlClient;
+
+/**
+ * A downstream GraphQL service the gateway plans queries against.
+ */
+public record Subgraph(String name, HttpGraphQlClient client) {
+}
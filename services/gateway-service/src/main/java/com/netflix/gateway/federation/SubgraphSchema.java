@@ -0,0 +1,95 @@
+package com.netflix.gateway.federation;
+
+import graphql.language.Directive;
+import graphql.language.FieldDefinition;
+import graphql.language.InputObjectTypeDefinition;
+import graphql.language.InputValueDefinition;
+import graphql.language.ObjectTypeDefinition;
+import graphql.language.StringValue;
+import graphql.language.Type;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.TypeDefinitionRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * One subgraph's SDL as reported by its {@code _service} field: which fields it can
+ * resolve, and under which {@code @key} it resolves entity references.
+ */
+public class SubgraphSchema {
+
+    private final String name;
+    private final TypeDefinitionRegistry registry;
+
+    public SubgraphSchema(String name, String sdl) {
+        this.name = name;
+        this.registry = new SchemaParser().parse(sdl);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public boolean definesField(String typeName, String fieldName) {
+        return fieldDefinition(typeName, fieldName).isPresent();
+    }
+
+    /**
+     * Fields of the type's first {@code @key}, or an empty list when this subgraph
+     * does not resolve the type as an entity.
+     */
+    public List<String> keyFields(String typeName) {
+        return registry.getType(typeName, ObjectTypeDefinition.class)
+                .flatMap(type -> type.getDirectives("key").stream().findFirst())
+                .map(SubgraphSchema::fieldSet)
+                .orElse(List.of());
+    }
+
+    /**
+     * Fields of the field's type that this subgraph returns along with it ({@code @provides}),
+     * so they need no hop to the type's own subgraph.
+     */
+    public Set<String> providedFields(String typeName, String fieldName) {
+        return fieldDefinition(typeName, fieldName)
+                .flatMap(field -> field.getDirectives("provides").stream().findFirst())
+                .map(provides -> Set.copyOf(fieldSet(provides)))
+                .orElse(Set.of());
+    }
+
+    public Type<?> argumentType(String typeName, String fieldName, String argumentName) {
+        return fieldDefinition(typeName, fieldName)
+                .flatMap(field -> inputValue(field.getInputValueDefinitions(), argumentName))
+                .orElse(null);
+    }
+
+    public Type<?> inputFieldType(String inputTypeName, String fieldName) {
+        return registry.getType(inputTypeName, InputObjectTypeDefinition.class)
+                .flatMap(type -> inputValue(type.getInputValueDefinitions(), fieldName))
+                .orElse(null);
+    }
+
+    private Optional<FieldDefinition> fieldDefinition(String typeName, String fieldName) {
+        List<FieldDefinition> fields = new ArrayList<>();
+        registry.getType(typeName, ObjectTypeDefinition.class)
+                .ifPresent(type -> fields.addAll(type.getFieldDefinitions()));
+        registry.objectTypeExtensions().getOrDefault(typeName, List.of())
+                .forEach(extension -> fields.addAll(extension.getFieldDefinitions()));
+        return fields.stream().filter(field -> field.getName().equals(fieldName)).findFirst();
+    }
+
+    private static Optional<Type<?>> inputValue(List<InputValueDefinition> values, String name) {
+        return values.stream()
+                .filter(value -> value.getName().equals(name))
+                .<Type<?>>map(InputValueDefinition::getType)
+                .findFirst();
+    }
+
+    // Only flat field sets ("id", "id sku") are supported, nested selections are not
+    private static List<String> fieldSet(Directive directive) {
+        String fields = ((StringValue) directive.getArgument("fields").getValue()).getValue();
+        return List.of(fields.trim().split("\\s+"));
+    }
+}
@@ -0,0 +1,63 @@
+package com.netflix.gateway.federation;
+
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The composed subgraph schemas. Where several subgraphs define a field, the first in
+ * configuration order owns it.
+ */
+public class Supergraph {
+
+    private final List<SubgraphSchema> subgraphs;
+
+    public Supergraph(List<SubgraphSchema> subgraphs) {
+        this.subgraphs = List.copyOf(subgraphs);
+    }
+
+    public List<SubgraphSchema> subgraphs() {
+        return subgraphs;
+    }
+
+    public SubgraphSchema owner(String typeName, String fieldName) {
+        return subgraphs.stream()
+                .filter(subgraph -> subgraph.definesField(typeName, fieldName))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * The first subgraph that defines the field and can be reached from another subgraph,
+     * by resolving references to the type under its {@code @key}.
+     */
+    public SubgraphSchema entityOwner(String typeName, String fieldName) {
+        return subgraphs.stream()
+                .filter(subgraph -> subgraph.definesField(typeName, fieldName))
+                .filter(subgraph -> !subgraph.keyFields(typeName).isEmpty())
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Fields of the gateway schema that no subgraph defines, as {@code Type.field}.
+     */
+    public List<String> unresolvableFields(GraphQLSchema schema) {
+        List<String> unresolvable = new ArrayList<>();
+        for (GraphQLObjectType type : schema.getAllTypesAsList().stream()
+                .filter(GraphQLObjectType.class::isInstance)
+                .map(GraphQLObjectType.class::cast)
+                .filter(type -> !type.getName().startsWith("__"))
+                .toList()) {
+            for (GraphQLFieldDefinition field : type.getFieldDefinitions()) {
+                if (owner(type.getName(), field.getName()) == null) {
+                    unresolvable.add(type.getName() + "." + field.getName());
+                }
+            }
+        }
+        return unresolvable;
+    }
+}
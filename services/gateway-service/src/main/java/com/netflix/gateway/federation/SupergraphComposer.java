@@ -0,0 +1,77 @@
+package com.netflix.gateway.federation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.graphql.execution.GraphQlSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Composes the supergraph from the SDL each subgraph reports through {@code _service}.
+ * Composition runs once the gateway is ready; if a subgraph is unreachable, it is retried
+ * by the next operation instead of failing startup.
+ */
+@Slf4j
+public class SupergraphComposer {
+
+    private static final String SDL_QUERY = "{ _service { sdl } }";
+
+    private final List<Subgraph> subgraphs;
+    private final ObjectProvider<GraphQlSource> graphQlSource;
+    private final AtomicReference<Mono<Supergraph>> supergraph = new AtomicReference<>();
+
+    public SupergraphComposer(List<Subgraph> subgraphs, ObjectProvider<GraphQlSource> graphQlSource) {
+        this.subgraphs = List.copyOf(subgraphs);
+        this.graphQlSource = graphQlSource;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        current().subscribe(composed -> {
+            List<String> unresolvable = composed.unresolvableFields(graphQlSource.getObject().schema());
+            if (!unresolvable.isEmpty()) {
+                log.warn("No subgraph resolves gateway fields {}", unresolvable);
+            }
+        }, error -> {
+            // Already logged, the first operation retries
+        });
+    }
+
+    /**
+     * The composed supergraph; concurrent callers share one composition in flight.
+     */
+    public Mono<Supergraph> current() {
+        while (true) {
+            Mono<Supergraph> current = supergraph.get();
+            if (current != null) {
+                return current;
+            }
+            Mono<Supergraph> composing = compose()
+                    .doOnError(error -> {
+                        log.warn("Supergraph composition failed, retrying on the next operation: {}", error.toString());
+                        supergraph.set(null);
+                    })
+                    .cache();
+            if (supergraph.compareAndSet(null, composing)) {
+                return composing;
+            }
+        }
+    }
+
+    private Mono<Supergraph> compose() {
+        return Flux.fromIterable(subgraphs)
+                .flatMapSequential(subgraph -> subgraph.client().document(SDL_QUERY)
+                        .retrieve("_service.sdl")
+                        .toEntity(String.class)
+                        .map(sdl -> new SubgraphSchema(subgraph.name(), sdl)))
+                .collectList()
+                .map(Supergraph::new)
+                .doOnNext(composed -> log.info("Composed supergraph from subgraphs {}",
+                        composed.subgraphs().stream().map(SubgraphSchema::name).toList()));
+    }
+}
@@ -0,0 +1,26 @@
+package com.netflix.gateway.tracing;
+
+import io.micrometer.common.KeyValues;
+import org.springframework.graphql.observation.DefaultExecutionRequestObservationConvention;
+import org.springframework.graphql.observation.ExecutionRequestObservationContext;
+
+/**
+ * Names each graphql.request span after the client's operation ("graphql MovieDetails"),
+ * so a federated query can be found in a trace by the name the client gave it.
+ * The operation name is a high-cardinality key: it goes on spans, not on metric tags.
+ */
+public class OperationNameObservationConvention extends DefaultExecutionRequestObservationConvention {
+
+    @Override
+    public String getContextualName(ExecutionRequestObservationContext context) {
+        String operationName = context.getExecutionInput().getOperationName();
+        return (operationName != null) ? "graphql " + operationName : super.getContextualName(context);
+    }
+
+    @Override
+    public KeyValues getHighCardinalityKeyValues(ExecutionRequestObservationContext context) {
+        String operationName = context.getExecutionInput().getOperationName();
+        KeyValues keyValues = super.getHighCardinalityKeyValues(context);
+        return (operationName != null) ? keyValues.and("graphql.operation.name", operationName) : keyValues;
+    }
+}
@@ -0,0 +1,107 @@
+package com.netflix.gateway.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.gateway.cost.QueryCost;
+import com.netflix.gateway.cost.QueryCostProperties;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphqlErrorBuilder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultExecutionGraphQlResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedMultiValueMap;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheInterceptorTest {
+
+    private static final String MOVIE_QUERY = "{ movie(id: 1) { title } }";
+    private static final String UPDATE_MOVIE = "mutation { updateMovie(id: 1, input: {title: \"Heat\"}) { title } }";
+
+    private final ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(
+            new ResponseCacheProperties(100, 100, Map.of("updateMovie", Set.of("Movie"))),
+            new QueryCostProperties(5000, 10, 20, "X-Api-Key", Map.of(), Map.of(), Map.of()),
+            new ObjectMapper(), new SimpleMeterRegistry());
+
+    // Executions that reached the subgraphs, per document
+    private final Map<String, AtomicInteger> executions = Map.of(
+            MOVIE_QUERY, new AtomicInteger(), UPDATE_MOVIE, new AtomicInteger());
+
+    @Test
+    void servesRepeatedQueriesFromTheCache() {
+        execute(MOVIE_QUERY, succeeding());
+        execute(MOVIE_QUERY, succeeding());
+
+        assertThat(executions.get(MOVIE_QUERY)).hasValue(1);
+    }
+
+    @Test
+    void successfulMutationInvalidatesTheTypesItChanges() {
+        execute(MOVIE_QUERY, succeeding());
+        execute(UPDATE_MOVIE, succeeding());
+        execute(MOVIE_QUERY, succeeding());
+
+        assertThat(executions.get(MOVIE_QUERY)).hasValue(2);
+    }
+
+    @Test
+    void failedMutationKeepsTheCachedResponses() {
+        execute(MOVIE_QUERY, succeeding());
+        execute(UPDATE_MOVIE, failing());
+        execute(MOVIE_QUERY, succeeding());
+
+        assertThat(executions.get(MOVIE_QUERY)).hasValue(1);
+    }
+
+    @Test
+    void queryRunningWhileAMutationInvalidatesIsNotStored() {
+        // The query read the old data, then the mutation completed before the query's response came back
+        execute(MOVIE_QUERY, request -> {
+            WebGraphQlResponse stale = succeeding().next(request).block();
+            execute(UPDATE_MOVIE, succeeding());
+            return Mono.just(stale);
+        });
+        execute(MOVIE_QUERY, succeeding());
+        execute(MOVIE_QUERY, succeeding());
+
+        assertThat(executions.get(MOVIE_QUERY)).hasValue(2);
+    }
+
+    private WebGraphQlResponse execute(String document, WebGraphQlInterceptor.Chain chain) {
+        WebGraphQlRequest request = new WebGraphQlRequest(URI.create("http://localhost/graphql"), new HttpHeaders(),
+                new LinkedMultiValueMap<>(), Map.of(), Map.of("query", document), "1", null);
+        return interceptor.intercept(request, chain).block();
+    }
+
+    private WebGraphQlInterceptor.Chain succeeding() {
+        return request -> Mono.just(response(request, ExecutionResultImpl.newExecutionResult()
+                .data(Map.of("movie", Map.of("title", "Heat")))
+                .build()));
+    }
+
+    private WebGraphQlInterceptor.Chain failing() {
+        return request -> Mono.just(response(request, ExecutionResultImpl.newExecutionResult()
+                .addError(GraphqlErrorBuilder.newError().message("Movie not found with id: 1").build())
+                .build()));
+    }
+
+    // What the instrumentations leave in the context of an executed operation
+    private WebGraphQlResponse response(WebGraphQlRequest request, ExecutionResult result) {
+        executions.get(request.getDocument()).incrementAndGet();
+        ExecutionInput input = request.toExecutionInput();
+        input.getGraphQLContext().put(CacheHint.class, new CacheHint(30, Set.of("Movie")));
+        input.getGraphQLContext().put(QueryCost.class, new QueryCost(2, 5000, 2, 10));
+        return new WebGraphQlResponse(new DefaultExecutionGraphQlResponse(input, result));
+    }
+}
@@ -0,0 +1,170 @@
+package com.netflix.gateway.federation;
+
+import graphql.GraphQLContext;
+import graphql.GraphQLError;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingEnvironmentImpl;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.client.HttpGraphQlClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs plans against stub subgraphs. An entity fetch serves several objects, so
+ * its failures must be reported at each of them.
+ */
+class FederationEngineTest {
+
+    private static final String MOVIES_SDL = """
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            type Movie @key(fields: "id") {
+                id: ID!
+                title: String!
+            }
+            type MovieConnection {
+                edges: [MovieEdge!]!
+            }
+            type MovieEdge {
+                node: Movie!
+            }
+            type Query {
+                movies(first: Int, after: String): MovieConnection
+            }
+            """;
+
+    private static final String REVIEWS_SDL = """
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            type Review @key(fields: "id") {
+                id: ID!
+                rating: Int!
+            }
+            type Movie @key(fields: "id") {
+                id: ID!
+                averageRating: Float
+            }
+            type Query {
+                review(id: ID!): Review
+            }
+            """;
+
+    private static final String QUERY = "{ movies(first: 3) { edges { node { title averageRating } } } }";
+
+    // The first and second movie are the same, so they share one representation
+    private static final String MOVIES_DATA = """
+            {"data": {"movies": {"edges": [
+                {"node": {"title": "Heat", "_key_id": "1"}},
+                {"node": {"title": "Heat", "_key_id": "1"}},
+                {"node": {"title": "Ronin", "_key_id": "2"}}
+            ]}}}
+            """;
+
+    private static GraphQLSchema schema;
+
+    @BeforeAll
+    static void loadSchema() throws IOException {
+        try (InputStream gatewaySdl = FederationEngineTest.class.getResourceAsStream("/schema/schema.graphqls")) {
+            schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+                    new SchemaParser().parse(new String(gatewaySdl.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Test
+    void failedEntityFetchIsReportedAtEveryObjectItServes() {
+        FederatedResult result = execute(
+                subgraph("movies", MOVIES_SDL, json(MOVIES_DATA)),
+                subgraph("reviews", REVIEWS_SDL, Mono.error(new ConnectException("Connection refused"))));
+
+        assertThat(result.errors())
+                .extracting(GraphQLError::getPath)
+                .containsExactly(
+                        List.of("movies", "edges", 0, "node"),
+                        List.of("movies", "edges", 1, "node"),
+                        List.of("movies", "edges", 2, "node"));
+        assertThat(result.errors())
+                .extracting(GraphQLError::getMessage)
+                .containsOnly("Subgraph reviews request failed");
+    }
+
+    @Test
+    void entityErrorIsReportedAtEveryObjectSharingTheRepresentation() {
+        FederatedResult result = execute(
+                subgraph("movies", MOVIES_SDL, json(MOVIES_DATA)),
+                subgraph("reviews", REVIEWS_SDL, json("""
+                        {"data": {"_entities": [null, {"averageRating": 4.5}]},
+                         "errors": [{"message": "Ratings unavailable", "path": ["_entities", 0, "averageRating"]}]}
+                        """)));
+
+        assertThat(result.errors())
+                .extracting(GraphQLError::getPath)
+                .containsExactly(
+                        List.of("movies", "edges", 0, "node", "averageRating"),
+                        List.of("movies", "edges", 1, "node", "averageRating"));
+        assertThat(node(result, 2)).containsEntry("averageRating", 4.5);
+    }
+
+    private FederatedResult execute(Subgraph... subgraphs) {
+        List<Subgraph> all = List.of(subgraphs);
+        FederationEngine engine = new FederationEngine(all, new SupergraphComposer(all, null), new QueryPlanner(),
+                new FederationProperties(10, Duration.ofSeconds(5), "X-Request-Timeout"), ObservationRegistry.NOOP);
+        OperationDefinition operation = (OperationDefinition) Parser.parse(QUERY).getDefinitions().get(0);
+        DataFetchingEnvironment environment = DataFetchingEnvironmentImpl.newDataFetchingEnvironment()
+                .graphQLSchema(schema)
+                .operationDefinition(operation)
+                .fragmentsByName(Map.of())
+                .variables(Map.of())
+                .graphQLContext(GraphQLContext.newContext().build())
+                .build();
+        return engine.execute(environment).block(Duration.ofSeconds(5));
+    }
+
+    // Answers the composer's _service query, then the fetch
+    private static Subgraph subgraph(String name, String sdl, Mono<ClientResponse> fetchResponse) {
+        Deque<Mono<ClientResponse>> responses = new ArrayDeque<>(List.of(
+                json("{\"data\": {\"_service\": {\"sdl\": " + quote(sdl) + "}}}"), fetchResponse));
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> responses.pop())
+                .build();
+        return new Subgraph(name, HttpGraphQlClient.create(webClient));
+    }
+
+    private static Mono<ClientResponse> json(String body) {
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+
+    private static String quote(String text) {
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> node(FederatedResult result, int index) {
+        Map<String, Object> movies = (Map<String, Object>) result.data().get("movies");
+        List<Map<String, Object>> edges = (List<Map<String, Object>>) movies.get("edges");
+        return (Map<String, Object>) edges.get(index).get("node");
+    }
+}
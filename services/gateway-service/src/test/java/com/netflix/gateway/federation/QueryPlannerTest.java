@@ -0,0 +1,198 @@
+package com.netflix.gateway.federation;
+
+import graphql.language.Document;
+import graphql.language.FragmentDefinition;
+import graphql.language.OperationDefinition;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Plans against the gateway schema and trimmed copies of the subgraph SDLs.
+ */
+class QueryPlannerTest {
+
+    private static final String MOVIES_SDL = """
+            scalar Date
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            type Movie @key(fields: "id") {
+                id: ID!
+                title: String!
+                description: String
+                releaseDate: Date
+                genre: String
+                director: String
+            }
+            input UpdateMovieInput {
+                title: String
+                genre: String
+            }
+            type Query {
+                movie(id: ID!): Movie
+            }
+            type Mutation {
+                updateMovie(id: ID!, input: UpdateMovieInput!): Movie!
+                deleteMovie(id: ID!): Boolean!
+            }
+            """;
+
+    private static final String USERS_SDL = """
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            type User @key(fields: "id") {
+                id: ID!
+                username: String!
+                fullName: String!
+            }
+            type Query {
+                user(id: ID!): User
+            }
+            """;
+
+    private static final String REVIEWS_SDL = """
+            directive @key(fields: String!) repeatable on OBJECT | INTERFACE
+            type Review @key(fields: "id") {
+                id: ID!
+                text: String
+                rating: Int!
+                movie: Movie!
+                user: User!
+            }
+            type Movie @key(fields: "id") {
+                id: ID!
+                reviews: [Review!]!
+                averageRating: Float
+                reviewCount: Int!
+            }
+            type User @key(fields: "id") {
+                id: ID!
+                reviews: [Review!]!
+            }
+            type Query {
+                review(id: ID!): Review
+            }
+            type Mutation {
+                deleteReview(id: ID!): Boolean!
+            }
+            """;
+
+    private static GraphQLSchema schema;
+    private static Supergraph supergraph;
+
+    private final QueryPlanner planner = new QueryPlanner();
+
+    @BeforeAll
+    static void loadSchemas() throws IOException {
+        try (InputStream gatewaySdl = QueryPlannerTest.class.getResourceAsStream("/schema/schema.graphqls")) {
+            schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(
+                    new SchemaParser().parse(new String(gatewaySdl.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+        supergraph = new Supergraph(List.of(
+                new SubgraphSchema("movies", MOVIES_SDL),
+                new SubgraphSchema("users", USERS_SDL),
+                new SubgraphSchema("reviews", REVIEWS_SDL)));
+    }
+
+    @Test
+    void fieldsStayInTheSubgraphOfTheirParentAndHopOncePerBoundary() {
+        QueryPlan plan = plan("{ movie(id: 1) { title reviews { rating user { username } } } }");
+
+        assertThat(plan.fetches()).hasSize(1);
+        FetchNode movies = plan.fetches().get(0);
+        assertThat(movies.subgraph()).isEqualTo("movies");
+        assertThat(movies.query()).isEqualTo("{movie(id:1){title _key_id:id}}");
+
+        FetchNode reviews = single(movies.children());
+        assertThat(reviews.subgraph()).isEqualTo("reviews");
+        assertThat(reviews.path()).containsExactly("movie");
+        assertThat(reviews.typeName()).isEqualTo("Movie");
+        assertThat(reviews.keyFields()).containsExactly("id");
+
+        FetchNode users = single(reviews.children());
+        assertThat(users.subgraph()).isEqualTo("users");
+        assertThat(users.path()).containsExactly("movie", "reviews", FetchNode.LIST_PATH_SEGMENT, "user");
+        assertThat(users.children()).isEmpty();
+        assertThat(plan.depth()).isEqualTo(3);
+    }
+
+    @Test
+    void fieldsCrossingTheSameBoundaryShareOneEntityFetch() {
+        QueryPlan plan = plan("{ movie(id: 1) { id averageRating title reviewCount reviews { rating } } }");
+
+        FetchNode movies = single(plan.fetches());
+        // The client already selects id, but the key is selected under its own alias
+        assertThat(movies.query()).isEqualTo("{movie(id:1){id _key_id:id title}}");
+        FetchNode reviews = single(movies.children());
+        assertThat(reviews.query()).contains("averageRating", "reviewCount", "reviews{rating}");
+        assertThat(plan.depth()).isEqualTo(2);
+    }
+
+    @Test
+    void rootFieldsOfAQueryAreGroupedPerSubgraphAndRunSideBySide() {
+        QueryPlan plan = plan("{ a: movie(id: 1) { title } user(id: 2) { username } b: movie(id: 3) { genre } }");
+
+        assertThat(plan.fetches()).extracting(FetchNode::subgraph).containsExactly("movies", "users");
+        assertThat(plan.fetches().get(0).responseKeys()).containsExactly("a", "b");
+        assertThat(plan.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void mutationFieldsKeepTheirOrder() {
+        QueryPlan plan = plan("mutation { a: deleteMovie(id: 1) b: deleteReview(id: 2) c: deleteMovie(id: 3) }");
+
+        assertThat(plan.fetches()).extracting(FetchNode::subgraph).containsExactly("movies", "reviews", "movies");
+    }
+
+    @Test
+    void variablesAreDeclaredWithTheSubgraphArgumentType() {
+        QueryPlan plan = plan("mutation($id: ID!, $input: CreateMovieInput!, $unused: ID) "
+                + "{ updateMovie(id: $id, input: $input) { title } }");
+
+        FetchNode movies = single(plan.fetches());
+        assertThat(movies.variables()).containsExactlyInAnyOrder("id", "input");
+        assertThat(movies.query()).startsWith("mutation ($id:ID!,$input:UpdateMovieInput!)");
+    }
+
+    @Test
+    void fragmentsAreInlinedIntoTheFetches() {
+        QueryPlan plan = plan("query { movie(id: 1) { ...details } } fragment details on Movie { title reviewCount }");
+
+        FetchNode movies = single(plan.fetches());
+        assertThat(movies.query()).isEqualTo("{movie(id:1){title _key_id:id}}");
+        assertThat(single(movies.children()).query()).contains("reviewCount");
+    }
+
+    @Test
+    void rejectsFieldsNoSubgraphResolves() {
+        // The trimmed users SDL has no email
+        assertThatThrownBy(() -> plan("{ review(id: 1) { user { email } } }"))
+                .isInstanceOf(QueryPlanningException.class)
+                .hasMessage("No subgraph resolves User.email");
+    }
+
+    private QueryPlan plan(String query) {
+        Document document = Parser.parse(query);
+        OperationDefinition operation = document.getDefinitionsOfType(OperationDefinition.class).get(0);
+        Map<String, FragmentDefinition> fragments = document.getDefinitionsOfType(FragmentDefinition.class).stream()
+                .collect(Collectors.toMap(FragmentDefinition::getName, Function.identity()));
+        return planner.plan(operation, fragments, schema, supergraph);
+    }
+
+    private static FetchNode single(List<FetchNode> fetches) {
+        assertThat(fetches).hasSize(1);
+        return fetches.get(0);
+    }
+}
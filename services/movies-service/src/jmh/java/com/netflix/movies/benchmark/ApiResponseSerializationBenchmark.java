@@ -0,0 +1,53 @@
+package com.netflix.movies.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.netflix.movies.common.ApiResponse;
+import com.netflix.movies.dto.MovieDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialisation of a list response, configured like the application's
+ * ObjectMapper (ISO dates, JavaTimeModule).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private ApiResponse<List<MovieDto>> response;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(new TypeReference<ApiResponse<List<MovieDto>>>() {});
+
+        List<MovieDto> movies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            movies.add(new MovieDto((long) i + 1, "Movie " + i, "Description of movie " + i,
+                    LocalDate.of(1970, 1, 1).plusDays(i % 20000), "Drama", "Director " + (i % 500)));
+        }
+        response = ApiResponse.success("Movies retrieved successfully", movies);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return writer.writeValueAsBytes(response);
+    }
+}
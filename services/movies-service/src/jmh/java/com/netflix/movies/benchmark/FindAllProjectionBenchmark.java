@@ -0,0 +1,115 @@
+package com.netflix.movies.benchmark;
+
+import com.netflix.movies.MoviesServiceApplication;
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.entity.Movie;
+import com.netflix.movies.repository.MovieRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reads 10k movies as {@link MovieDto}s three ways: managed entities in a read-write
+ * transaction, managed entities in a read-only transaction, and a DTO projection.
+ * Run with the gc profiler (enabled in build.gradle) and compare
+ * {@code gc.alloc.rate.norm} for bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FindAllProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final String ENTITY_QUERY = "SELECT m FROM Movie m ORDER BY m.id";
+
+    private static final String PROJECTION_QUERY = "SELECT " + MovieRepository.DTO + " FROM Movie m ORDER BY m.id";
+
+    private ConfigurableApplicationContext context;
+    private EntityManager entityManager;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MoviesServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they override application.properties (builder properties are only defaults)
+                .run(
+                        // IGNORE_UNKNOWN_SETTINGS skips the PostgreSQL-only driver properties
+                        "--spring.datasource.url=jdbc:h2:mem:movies-projection-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        // The Flyway migrations are PostgreSQL-specific (tsvector, pg_trgm)
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        // Measures the query path without span creation and JDBC observation
+                        "--management.tracing.enabled=false",
+                        "--jdbc.datasource-proxy.enabled=false",
+                        "--logging.level.root=WARN");
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(context.getBean(EntityManagerFactory.class));
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        List<Movie> movies = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setDescription("Description of movie " + i);
+            movie.setReleaseDate(LocalDate.of(1970, 1, 1).plusDays(i));
+            movie.setGenre("Drama");
+            movie.setDirector("Director " + (i % 500));
+            movies.add(movie);
+        }
+        context.getBean(MovieRepository.class).saveAll(movies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MovieDto> managedEntities() {
+        return readWrite.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<MovieDto> managedEntitiesReadOnly() {
+        return readOnly.execute(status -> loadEntities());
+    }
+
+    @Benchmark
+    public List<MovieDto> dtoProjection() {
+        return readOnly.execute(status -> entityManager.createQuery(PROJECTION_QUERY, MovieDto.class)
+                .getResultList());
+    }
+
+    private List<MovieDto> loadEntities() {
+        return entityManager.createQuery(ENTITY_QUERY, Movie.class)
+                .getResultStream()
+                .map(movie -> new MovieDto(movie.getId(), movie.getTitle(), movie.getDescription(),
+                        movie.getReleaseDate(), movie.getGenre(), movie.getDirector()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,93 @@
+package com.netflix.movies.benchmark;
+
+import com.netflix.movies.MoviesServiceApplication;
+import com.netflix.movies.entity.Movie;
+import com.netflix.movies.repository.MovieRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end execution of the {@code movies} query (parse, validate, data
+ * fetching, JPA) against an in-memory H2 database, without the HTTP layer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoviesQueryBenchmark {
+
+    private static final String MOVIES_QUERY =
+            "query($first: Int) { movies(first: $first) { edges { cursor node { id title releaseDate genre director } } pageInfo { hasNextPage endCursor } } }";
+
+    private static final int CATALOG_SIZE = 10_000;
+
+    @Param({"20", "100"})
+    private int first;
+
+    private ConfigurableApplicationContext context;
+    private ExecutionGraphQlService graphQlService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(MoviesServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Command-line arguments, so they override application.properties (builder properties are only defaults)
+                .run(
+                        // IGNORE_UNKNOWN_SETTINGS skips the PostgreSQL-only driver properties
+                        "--spring.datasource.url=jdbc:h2:mem:movies-bench;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;IGNORE_UNKNOWN_SETTINGS=TRUE",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        // The Flyway migrations are PostgreSQL-specific (tsvector, pg_trgm)
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        // Measures the query path without span creation and JDBC observation
+                        "--management.tracing.enabled=false",
+                        "--jdbc.datasource-proxy.enabled=false",
+                        "--logging.level.root=WARN");
+        graphQlService = context.getBean(ExecutionGraphQlService.class);
+
+        List<Movie> movies = new ArrayList<>(CATALOG_SIZE);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            Movie movie = new Movie();
+            movie.setTitle("Movie " + i);
+            movie.setDescription("Description of movie " + i);
+            movie.setReleaseDate(LocalDate.of(1970, 1, 1).plusDays(i));
+            movie.setGenre("Drama");
+            movie.setDirector("Director " + (i % 500));
+            movies.add(movie);
+        }
+        context.getBean(MovieRepository.class).saveAll(movies);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> moviesQuery() {
+        DefaultExecutionGraphQlRequest request = new DefaultExecutionGraphQlRequest(
+                MOVIES_QUERY, null, Map.of("first", first), null, "movies-bench", null);
+        ExecutionGraphQlResponse response = graphQlService.execute(request).block();
+        if (!response.isValid() || !response.getErrors().isEmpty()) {
+            throw new IllegalStateException("movies query failed: " + response.getErrors());
+        }
+        return response.getData();
+    }
+}
@@ -0,0 +1,49 @@
+package com.netflix.movies.service;
+
+import com.netflix.movies.dto.CreateMovieDto;
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.entity.Movie;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MovieMappingBenchmark {
+
+    private MovieServiceImpl movieService;
+    private Movie movie;
+    private CreateMovieDto createMovieDto;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches no collaborators, so the service needs no Spring context
+        movieService = new MovieServiceImpl();
+
+        movie = new Movie();
+        movie.setId(42L);
+        movie.setTitle("The Matrix");
+        movie.setDescription("A computer hacker learns about the true nature of reality.");
+        movie.setReleaseDate(LocalDate.of(1999, 3, 31));
+        movie.setGenre("Sci-Fi");
+        movie.setDirector("Lana Wachowski, Lilly Wachowski");
+
+        createMovieDto = new CreateMovieDto(movie.getTitle(), movie.getDescription(),
+                movie.getReleaseDate(), movie.getGenre(), movie.getDirector());
+    }
+
+    @Benchmark
+    public MovieDto convertToDto() {
+        return movieService.convertToDto(movie);
+    }
+
+    @Benchmark
+    public Movie convertToEntity() {
+        return movieService.convertToEntity(createMovieDto);
+    }
+}
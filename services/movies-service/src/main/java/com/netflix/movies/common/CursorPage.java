@@ -0,0 +1,65 @@
+package com.netflix.movies.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek-by-id) paginated result. Cursors are opaque to
+ * clients and encode the id of the last row of a page.
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String endCursor,
+        boolean hasNextPage
+) {
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    private static final String CURSOR_PREFIX = "id:";
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}, the extra row only
+     * signals that another page exists.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<T, Long> idExtractor) {
+        boolean hasNextPage = rows.size() > limit;
+        List<T> items = hasNextPage ? rows.subList(0, limit) : rows;
+        String endCursor = items.isEmpty() ? null : encodeCursor(idExtractor.apply(items.get(items.size() - 1)));
+        return new CursorPage<>(items, endCursor, hasNextPage);
+    }
+
+    public static int normalizeLimit(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return limit;
+    }
+
+    public static String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the id encoded in the cursor, or 0 to start from the first row.
+     */
+    public static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
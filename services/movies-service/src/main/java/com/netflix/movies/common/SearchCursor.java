@@ -0,0 +1,42 @@
+package com.netflix.movies.common;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in a relevance-ranked result: results are ordered by score
+ * descending, then id ascending. The score is the exact decimal rank returned by
+ * the database, so the next page resumes precisely after the last row.
+ */
+public record SearchCursor(BigDecimal score, long id) {
+
+    // Above any rank: full-text rank and trigram similarity are both small fractions
+    public static final SearchCursor START = new SearchCursor(new BigDecimal("1000000"), 0L);
+
+    private static final String CURSOR_PREFIX = "rank:";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + score.toPlainString() + ":" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String[] parts = decoded.substring(CURSOR_PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new SearchCursor(new BigDecimal(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.netflix.movies.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String MOVIES_CACHE = "movies";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${movies.cache.spec}") String cacheSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(MOVIES_CACHE);
+        cacheManager.setCacheSpecification(cacheSpec);
+        // Puts and evictions are applied only once the surrounding transaction commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,29 @@
+package com.netflix.movies.config;
+
+import com.netflix.common.tracing.FileSpanExporter;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Path;
+
+@Configuration
+public class ObservabilityConfig {
+
+    // Turns @Observed methods into timers (and, with tracing, spans)
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    // Picked up by Boot's OpenTelemetry setup alongside any other SpanExporter beans.
+    // Only with the trace-file profile, which also samples every request
+    @Bean
+    @Profile("trace-file")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file}") String file) {
+        return new FileSpanExporter(Path.of(file));
+    }
+}
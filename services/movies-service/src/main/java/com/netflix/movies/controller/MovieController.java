@@ -1,15 +1,31 @@
 package com.netflix.movies.controller;
 
+import com.netflix.common.batch.BatchIds;
 import com.netflix.movies.common.ApiResponse;
+import com.netflix.movies.common.CursorPage;
 import com.netflix.movies.dto.CreateMovieDto;
 import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.dto.MovieSearchHitDto;
+import com.netflix.movies.dto.MovieVersion;
+import com.netflix.movies.dto.Versioned;
 import com.netflix.movies.service.MovieService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -19,26 +35,74 @@ public class MovieController {
     @Autowired
     private MovieService movieService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Conditional GET: the ETag covers the ids and versions of the page, so an
+     * unchanged page answers 304 without loading or serialising the movies. A
+     * 200 carries the ETag read in the same snapshot as the movies it returns.
+     */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getAllMovies() {
+    public ResponseEntity<ApiResponse<CursorPage<MovieDto>>> getAllMovies(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
         try {
-            List<MovieDto> movies = movieService.findAll();
-            return ResponseEntity.ok(
-                ApiResponse.success("Movies retrieved successfully", movies)
-            );
+            String eTag = MovieVersion.eTag(movieService.findPageVersions(after, limit));
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            Versioned<CursorPage<MovieDto>> movies = movieService.findAllVersioned(after, limit);
+            return ResponseEntity.ok()
+                .eTag(movies.eTag())
+                .body(ApiResponse.success("Movies retrieved successfully", movies.body()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to retrieve movies"));
         }
     }
 
+    /**
+     * Streams the whole catalog as newline-delimited JSON, one movie per line,
+     * without building the result in memory.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportMovies() {
+        ObjectWriter writer = objectMapper.writerFor(MovieDto.class);
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            movieService.exportAll(movie -> {
+                try {
+                    out.write(writer.writeValueAsBytes(movie));
+                    out.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<MovieDto>> getMovieById(@PathVariable Long id) {
+    public ResponseEntity<ApiResponse<MovieDto>> getMovieById(@PathVariable Long id, WebRequest request) {
         try {
-            MovieDto movie = movieService.findById(id);
-            return ResponseEntity.ok(
-                ApiResponse.success("Movie retrieved successfully", movie)
-            );
+            MovieVersion version = movieService.findVersion(id);
+            // Answers If-None-Match / If-Modified-Since with 304 before the movie is loaded
+            if (request.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;
+            }
+            Versioned<MovieDto> movie = movieService.findVersionedById(id);
+            return ResponseEntity.ok()
+                .eTag(movie.eTag())
+                .lastModified(movie.lastModified())
+                .body(ApiResponse.success("Movie retrieved successfully", movie.body()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error(e.getMessage()));
@@ -48,6 +112,22 @@ public class MovieController {
         }
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<MovieDto>>> getMoviesByIds(@RequestBody List<Long> ids) {
+        try {
+            List<MovieDto> movies = movieService.findByIds(BatchIds.check(ids));
+            return ResponseEntity.ok(
+                ApiResponse.success("Movies retrieved successfully", movies)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve movies"));
+        }
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<MovieDto>> createMovie(@Valid @RequestBody CreateMovieDto createMovieDto) {
         try {
@@ -63,17 +143,56 @@ public class MovieController {
         }
     }
 
+    /**
+     * Creates all movies in one transaction using batched inserts. Returns the
+     * created movies in request order.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<List<MovieDto>>> createMovies(@Valid @RequestBody List<CreateMovieDto> createMovieDtos) {
+        try {
+            List<MovieDto> createdMovies = movieService.createAll(createMovieDtos);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Movies created successfully", createdMovies));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create movies"));
+        }
+    }
+
+    /**
+     * With {@code If-Match}, updates only if the movie is still at that version
+     * and answers 412 Precondition Failed otherwise.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<MovieDto>> updateMovie(@PathVariable Long id,
-                                                            @Valid @RequestBody CreateMovieDto updateMovieDto) {
+                                                            @Valid @RequestBody CreateMovieDto updateMovieDto,
+                                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                            WebRequest request) {
         try {
-            MovieDto updatedMovie = movieService.update(id, updateMovieDto);
-            return ResponseEntity.ok(
-                ApiResponse.success("Movie updated successfully", updatedMovie)
-            );
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                MovieVersion current = movieService.findVersion(id);
+                // Sets 412 when If-Match does not name the current version
+                if (request.checkNotModified(current.eTag())) {
+                    return null;
+                }
+                expectedVersion = current.version();
+            }
+            // The ETag is the version this update wrote, not a later re-read
+            Versioned<MovieDto> updatedMovie = movieService.updateVersioned(id, updateMovieDto, expectedVersion);
+            return ResponseEntity.ok()
+                .eTag(updatedMovie.eTag())
+                .lastModified(updatedMovie.lastModified())
+                .body(ApiResponse.success("Movie updated successfully", updatedMovie.body()));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                 .body(ApiResponse.error(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.error("Movie has been modified by another request"));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to update movie"));
@@ -97,24 +216,49 @@ public class MovieController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> searchMovies(
+    public ResponseEntity<ApiResponse<CursorPage<MovieDto>>> searchMovies(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String director) {
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<MovieDto> movies;
+            CursorPage<MovieDto> movies;
             if (title != null && !title.trim().isEmpty()) {
-                movies = movieService.findByTitle(title);
+                movies = movieService.findByTitle(title, after, limit);
             } else if (genre != null && !genre.trim().isEmpty()) {
-                movies = movieService.findByGenre(genre);
+                movies = movieService.findByGenre(genre, after, limit);
             } else if (director != null && !director.trim().isEmpty()) {
-                movies = movieService.findByDirector(director);
+                movies = movieService.findByDirector(director, after, limit);
             } else {
-                movies = movieService.findAll();
+                movies = movieService.findAll(after, limit);
             }
             return ResponseEntity.ok(
                 ApiResponse.success("Movies retrieved successfully", movies)
             );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to search movies"));
+        }
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<ApiResponse<CursorPage<MovieSearchHitDto>>> searchMoviesByText(
+            @RequestParam String q,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<MovieSearchHitDto> results = movieService.search(q, after, limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Movies retrieved successfully, ranked among the "
+                    + MovieService.SEARCH_CANDIDATE_LIMIT + " best full-text matches", results)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to search movies"));
@@ -0,0 +1,52 @@
+package com.netflix.movies.controller;
+
+import com.netflix.common.importer.ImportReport;
+import com.netflix.movies.common.ApiResponse;
+import com.netflix.movies.importer.MovieImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/movies/import")
+public class MovieImportController {
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    /**
+     * Starts importing a CSV or NDJSON catalog feed from the import directory.
+     * Returns immediately; poll the returned id for progress.
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ImportReport>> startImport(@RequestParam String file) {
+        try {
+            ImportReport report = movieImportService.start(file);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Import started", report));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to start import"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ImportReport>> getImport(@PathVariable String id) {
+        try {
+            ImportReport report = movieImportService.findById(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("Import retrieved successfully", report)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve import"));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.netflix.movies.dto;
+
+import java.math.BigDecimal;
+
+public record MovieSearchHitDto(
+        MovieDto movie,
+        BigDecimal score
+) {
+}
@@ -0,0 +1,41 @@
+package com.netflix.movies.dto;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Version of a movie row, enough to answer conditional requests without loading
+ * and mapping the movie.
+ */
+public record MovieVersion(Long id, Long version, LocalDateTime updatedAt) {
+
+    public String eTag() {
+        return "\"" + version + "\"";
+    }
+
+    public long lastModified() {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Strong ETag of a page of movies, which changes when a movie on the page is
+     * added, removed or updated.
+     */
+    public static String eTag(List<MovieVersion> versions) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+            for (MovieVersion version : versions) {
+                digest.update(buffer.clear().putLong(version.id()).putLong(version.version()).array());
+            }
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
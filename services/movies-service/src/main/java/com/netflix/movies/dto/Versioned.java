@@ -0,0 +1,12 @@
+package com.netflix.movies.dto;
+
+/**
+ * A response body with the ETag of the rows it was read from, and their
+ * Last-Modified time for a single movie (null for pages).
+ */
+public record Versioned<T>(T body, String eTag, Long lastModified) {
+
+    public static <T> Versioned<T> of(T body, MovieVersion version) {
+        return new Versioned<>(body, version.eTag(), version.lastModified());
+    }
+}
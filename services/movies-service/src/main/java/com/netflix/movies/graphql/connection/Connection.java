@@ -0,0 +1,31 @@
+package com.netflix.movies.graphql.connection;
+
+import com.netflix.movies.common.CursorPage;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Relay-style connection built from a {@link CursorPage}. Pagination is
+ * forward-only, so only {@code hasNextPage} and {@code endCursor} are exposed.
+ */
+public record Connection<T>(
+        List<Edge<T>> edges,
+        PageInfo pageInfo
+) {
+    public record Edge<T>(String cursor, T node) {}
+
+    public record PageInfo(boolean hasNextPage, String endCursor) {}
+
+    public static <T> Connection<T> from(CursorPage<T> page, Function<T, Long> idExtractor) {
+        return withCursors(page, item -> CursorPage.encodeCursor(idExtractor.apply(item)));
+    }
+
+    public static <T> Connection<T> withCursors(CursorPage<T> page, Function<T, String> cursorExtractor) {
+        List<Edge<T>> edges = page.items().stream()
+                .map(item -> new Edge<>(cursorExtractor.apply(item), item))
+                .collect(Collectors.toList());
+        return new Connection<>(edges, new PageInfo(page.hasNextPage(), page.endCursor()));
+    }
+}
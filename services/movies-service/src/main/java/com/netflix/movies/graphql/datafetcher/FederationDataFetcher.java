@@ -0,0 +1,51 @@
+package com.netflix.movies.graphql.datafetcher;
+
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.service.MovieService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Federation fields the gateway composes its query plans from and resolves entities through.
+ */
+@Controller
+public class FederationDataFetcher {
+
+    @Autowired
+    private MovieService movieService;
+
+    private final String sdl;
+
+    public FederationDataFetcher(@Value("classpath:schema/schema.graphqls") Resource schema) throws IOException {
+        this.sdl = schema.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @QueryMapping("_service")
+    public Map<String, String> service() {
+        return Map.of("sdl", sdl);
+    }
+
+    // All representations are loaded with one batched query; results keep their order, null when not found
+    @QueryMapping("_entities")
+    public List<MovieDto> entities(@Argument List<Map<String, Object>> representations) {
+        List<Long> ids = representations.stream()
+                .map(FederationDataFetcher::id)
+                .collect(Collectors.toList());
+        return movieService.findByIds(ids);
+    }
+
+    private static Long id(Map<String, Object> representation) {
+        Object id = representation.get("id");
+        return "Movie".equals(representation.get("__typename")) && id != null ? Long.valueOf(String.valueOf(id)) : null;
+    }
+}
@@ -1,7 +1,11 @@
 package com.netflix.movies.graphql.datafetcher;
 
+import com.netflix.common.batch.BatchIds;
+import com.netflix.movies.common.SearchCursor;
 import com.netflix.movies.dto.CreateMovieDto;
 import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.dto.MovieSearchHitDto;
+import com.netflix.movies.graphql.connection.Connection;
 import com.netflix.movies.service.MovieService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
@@ -10,6 +14,7 @@ import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Controller
 public class MovieDataFetcher {
@@ -18,8 +23,8 @@ public class MovieDataFetcher {
     private MovieService movieService;
 
     @QueryMapping
-    public List<MovieDto> movies() {
-        return movieService.findAll();
+    public Connection<MovieDto> movies(@Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findAll(after, first), MovieDto::id);
     }
 
     @QueryMapping
@@ -28,30 +33,41 @@ public class MovieDataFetcher {
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByTitle(@Argument String title) {
-        return movieService.findByTitle(title);
+    public List<MovieDto> moviesByIds(@Argument List<Long> ids) {
+        return movieService.findByIds(BatchIds.check(ids));
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByGenre(@Argument String genre) {
-        return movieService.findByGenre(genre);
+    public Connection<MovieDto> moviesByTitle(@Argument String title, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByTitle(title, after, first), MovieDto::id);
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByDirector(@Argument String director) {
-        return movieService.findByDirector(director);
+    public Connection<MovieDto> moviesByGenre(@Argument String genre, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByGenre(genre, after, first), MovieDto::id);
+    }
+
+    @QueryMapping
+    public Connection<MovieDto> moviesByDirector(@Argument String director, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByDirector(director, after, first), MovieDto::id);
+    }
+
+    @QueryMapping
+    public Connection<MovieSearchHitDto> searchMovies(@Argument String query, @Argument Integer first, @Argument String after) {
+        return Connection.withCursors(movieService.search(query, after, first),
+                hit -> new SearchCursor(hit.score(), hit.movie().id()).encode());
     }
 
     @MutationMapping
     public MovieDto createMovie(@Argument CreateMovieInput input) {
-        CreateMovieDto createDto = new CreateMovieDto(
-                input.title(),
-                input.description(),
-                input.releaseDate(),
-                input.genre(),
-                input.director()
-        );
-        return movieService.create(createDto);
+        return movieService.create(toCreateMovieDto(input));
+    }
+
+    @MutationMapping
+    public List<MovieDto> createMovies(@Argument List<CreateMovieInput> inputs) {
+        return movieService.createAll(inputs.stream()
+                .map(this::toCreateMovieDto)
+                .collect(Collectors.toList()));
     }
 
     @MutationMapping
@@ -63,7 +79,7 @@ public class MovieDataFetcher {
                 input.genre(),
                 input.director()
         );
-        return movieService.update(Long.valueOf(id), updateDto);
+        return movieService.update(Long.valueOf(id), updateDto, null);
     }
 
     @MutationMapping
@@ -72,6 +88,16 @@ public class MovieDataFetcher {
         return true;
     }
 
+    private CreateMovieDto toCreateMovieDto(CreateMovieInput input) {
+        return new CreateMovieDto(
+                input.title(),
+                input.description(),
+                input.releaseDate(),
+                input.genre(),
+                input.director()
+        );
+    }
+
     // Input record classes for GraphQL
     public record CreateMovieInput(
             String title,
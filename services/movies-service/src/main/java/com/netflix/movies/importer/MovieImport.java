@@ -0,0 +1,122 @@
+package com.netflix.movies.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.common.importer.ImportJob;
+import com.netflix.common.importer.StagedImport;
+import com.netflix.movies.dto.CreateMovieDto;
+import org.springframework.cache.Cache;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+class MovieImport extends StagedImport<MovieImportRow> {
+
+    private static final String STAGING_TABLE_DDL = """
+            CREATE TEMP TABLE IF NOT EXISTS movie_import_staging (
+                source_row   BIGINT NOT NULL,
+                id           BIGINT,
+                title        VARCHAR(255),
+                description  VARCHAR(1000),
+                release_date DATE,
+                genre        VARCHAR(255),
+                director     VARCHAR(255)
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String COPY_SQL =
+            "COPY movie_import_staging (source_row, id, title, description, release_date, genre, director) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    private static final String UNKNOWN_IDS_SQL = """
+            SELECT s.source_row, s.id
+            FROM movie_import_staging s
+            WHERE s.id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM movies m WHERE m.id = s.id)
+            ORDER BY s.source_row""";
+
+    // The last row wins when a chunk updates the same movie twice
+    private static final String UPDATE_SQL = """
+            UPDATE movies m
+            SET title = s.title,
+                description = s.description,
+                release_date = s.release_date,
+                genre = s.genre,
+                director = s.director,
+                version = m.version + 1,
+                updated_at = now()
+            FROM (SELECT DISTINCT ON (id) * FROM movie_import_staging
+                  WHERE id IS NOT NULL
+                  ORDER BY id, source_row DESC) s
+            WHERE m.id = s.id""";
+
+    // New ids are taken in blocks of 50 from movies_id_seq, the same way Hibernate's pooled
+    // optimizer does (a block is (hi - 50, hi]). A first value below 50 is not a full block and
+    // is skipped, which is why one spare block is reserved.
+    private static final String INSERT_SQL = """
+            WITH new_rows AS (
+                SELECT s.*, row_number() OVER (ORDER BY s.source_row) - 1 AS n
+                FROM movie_import_staging s
+                WHERE s.id IS NULL
+            ), id_blocks AS (
+                SELECT row_number() OVER () - 1 AS block, hi
+                FROM (SELECT nextval('movies_id_seq') AS hi
+                      FROM generate_series(1, (SELECT CASE WHEN count(*) = 0 THEN 0 ELSE count(*) / 50 + 2 END
+                                               FROM new_rows))) reserved
+                WHERE hi >= 50
+            )
+            INSERT INTO movies (id, title, description, release_date, genre, director)
+            SELECT b.hi - 49 + r.n % 50, r.title, r.description, r.release_date, r.genre, r.director
+            FROM new_rows r
+            JOIN id_blocks b ON b.block = r.n / 50""";
+
+    private final Cache moviesCache;
+
+    MovieImport(DataSource dataSource, ObjectMapper objectMapper, ImportJob job, int chunkSize, Cache moviesCache)
+            throws SQLException, IOException {
+        super(dataSource, objectMapper, job, chunkSize);
+        this.moviesCache = moviesCache;
+    }
+
+    @Override
+    protected String stagingTableDdl() {
+        return STAGING_TABLE_DDL;
+    }
+
+    @Override
+    protected String copySql() {
+        return COPY_SQL;
+    }
+
+    @Override
+    protected Object[] toStagingValues(long rowNumber, MovieImportRow row) {
+        // Same constraints as the create endpoint
+        CreateMovieDto movie = new CreateMovieDto(row.title(), row.description(), row.releaseDate(),
+                row.genre(), row.director());
+        return new Object[] {
+                rowNumber, row.id(), movie.title(), movie.description(), movie.releaseDate(), movie.genre(), movie.director()
+        };
+    }
+
+    @Override
+    protected void mergeChunk(Connection connection) throws SQLException, IOException {
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet unknown = statement.executeQuery(UNKNOWN_IDS_SQL)) {
+                while (unknown.next()) {
+                    rejectRow(unknown.getLong(1), "Movie not found with id: " + unknown.getLong(2));
+                }
+            }
+            int updated = statement.executeUpdate(UPDATE_SQL);
+            int inserted = statement.executeUpdate(INSERT_SQL);
+            job().chunkMerged(inserted, updated);
+        }
+    }
+
+    // Updates bypass the service layer, so cached movie details may be stale
+    @Override
+    protected void chunkCommitted() {
+        moviesCache.clear();
+    }
+}
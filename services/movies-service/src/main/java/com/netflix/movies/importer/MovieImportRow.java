@@ -0,0 +1,17 @@
+package com.netflix.movies.importer;
+
+import java.time.LocalDate;
+
+/**
+ * One record of a catalog feed. Rows with an id update that movie, rows
+ * without one create a new movie.
+ */
+public record MovieImportRow(
+        Long id,
+        String title,
+        String description,
+        LocalDate releaseDate,
+        String genre,
+        String director
+) {
+}
@@ -1,22 +1,117 @@
 package com.netflix.movies.repository;
 
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.dto.MovieVersion;
 import com.netflix.movies.entity.Movie;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface MovieRepository extends JpaRepository<Movie, Long> {
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Movie> findByTitleContainingIgnoreCase(@Param("title") String title);
+    String DTO = "new com.netflix.movies.dto.MovieDto(m.id, m.title, m.description, m.releaseDate, m.genre, m.director)";
 
-    @Query("SELECT m FROM Movie m WHERE m.genre = :genre")
-    List<Movie> findByGenre(@Param("genre") String genre);
+    // Read paths select straight into MovieDto: no managed entities, no dirty-checking snapshots
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.director) LIKE LOWER(CONCAT('%', :director, '%'))")
-    List<Movie> findByDirectorContainingIgnoreCase(@Param("director") String director);
+    @Query("SELECT " + DTO + " FROM Movie m WHERE m.id = :id")
+    Optional<MovieDto> findDtoById(@Param("id") Long id);
+
+    @Query("SELECT " + DTO + " FROM Movie m WHERE m.id IN :ids")
+    List<MovieDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Keyset pagination: every query seeks past the last seen id and reads at most one page
+
+    @Query("SELECT " + DTO + " FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<MovieDto> findPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Versions of the same rows as findPage, for conditional requests
+    @Query("SELECT new com.netflix.movies.dto.MovieVersion(m.id, m.version, m.updatedAt) FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<MovieVersion> findPageVersions(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.netflix.movies.dto.MovieVersion(m.id, m.version, m.updatedAt) FROM Movie m WHERE m.id = :id")
+    Optional<MovieVersion> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT " + DTO + " FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND m.id > :afterId ORDER BY m.id")
+    List<MovieDto> findByTitleContainingIgnoreCase(@Param("title") String title, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + DTO + " FROM Movie m WHERE m.genre = :genre AND m.id > :afterId ORDER BY m.id")
+    List<MovieDto> findByGenre(@Param("genre") String genre, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT " + DTO + " FROM Movie m WHERE LOWER(m.director) LIKE LOWER(CONCAT('%', :director, '%')) AND m.id > :afterId ORDER BY m.id")
+    List<MovieDto> findByDirectorContainingIgnoreCase(@Param("director") String director, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Ranked search over the {@code search_vector} full-text index. The matches with
+     * the highest full-text rank (ties by id, so every page sees the same set) are
+     * capped at {@code candidateLimit}, and only those are ranked by full-text rank
+     * plus trigram similarity of the title. The rank is rounded to a fixed scale so
+     * the keyset on (rank desc, id asc) compares exactly what the cursor carries.
+     */
+    @Query(value = """
+            WITH candidate AS (
+                SELECT m.id, m.title, ts_rank_cd(m.search_vector, to_tsquery('simple', :tsQuery)) AS text_rank
+                FROM movies m
+                WHERE m.search_vector @@ to_tsquery('simple', :tsQuery)
+                ORDER BY text_rank DESC, m.id
+                LIMIT :candidateLimit
+            ), hit AS (
+                SELECT c.id,
+                       round(CAST(c.text_rank + similarity(lower(c.title), :text) AS numeric), 6) AS rank
+                FROM candidate c
+            )
+            SELECT hit.id AS id, hit.rank AS rank
+            FROM hit
+            WHERE hit.rank < :afterRank OR (hit.rank = :afterRank AND hit.id > :afterId)
+            ORDER BY hit.rank DESC, hit.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<MovieSearchHit> search(@Param("tsQuery") String tsQuery,
+                                @Param("text") String text,
+                                @Param("candidateLimit") int candidateLimit,
+                                @Param("afterRank") BigDecimal afterRank,
+                                @Param("afterId") Long afterId,
+                                @Param("limit") int limit);
+
+    // Title vocabulary (movie_title_words), used to correct misspelled search terms
+
+    // First word at or after the term in byte order; a bound parameter in LIKE ':term%' could not use the index
+    @Query(value = """
+            SELECT w.word
+            FROM movie_title_words w
+            WHERE w.word COLLATE "C" >= :term
+            ORDER BY w.word COLLATE "C"
+            LIMIT 1
+            """, nativeQuery = true)
+    Optional<String> findFirstTitleWordFrom(@Param("term") String term);
+
+    @Query(value = """
+            SELECT w.word
+            FROM movie_title_words w
+            WHERE w.word % :term
+            ORDER BY similarity(w.word, :term) DESC, w.word
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findSimilarTitleWords(@Param("term") String term, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "REFRESH MATERIALIZED VIEW CONCURRENTLY movie_title_words", nativeQuery = true)
+    void refreshTitleWords();
+
+    // Streams the whole catalog through a server-side cursor; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT " + DTO + " FROM Movie m ORDER BY m.id")
+    Stream<MovieDto> streamAll();
 }
@@ -0,0 +1,13 @@
+package com.netflix.movies.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Projection of one ranked search match.
+ */
+public interface MovieSearchHit {
+
+    Long getId();
+
+    BigDecimal getRank();
+}
@@ -0,0 +1,38 @@
+package com.netflix.movies.search;
+
+import com.netflix.movies.repository.MovieRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the {@code movie_title_words} vocabulary used for search-term correction
+ * in step with the catalog. Words of titles added since the last refresh are still
+ * found by the full-text index; they are only missing as corrections.
+ */
+@Slf4j
+@Component
+public class TitleWordsRefresher {
+
+    private final MovieRepository movieRepository;
+    private final TransactionTemplate transaction;
+
+    public TitleWordsRefresher(MovieRepository movieRepository, PlatformTransactionManager transactionManager) {
+        this.movieRepository = movieRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${movies.search.title-words-refresh-interval}",
+            initialDelayString = "${movies.search.title-words-refresh-interval}")
+    public void refresh() {
+        try {
+            transaction.executeWithoutResult(status -> movieRepository.refreshTitleWords());
+            log.info("Refreshed search title words");
+        } catch (RuntimeException e) {
+            // Searches keep correcting against the previous vocabulary
+            log.warn("Refreshing search title words failed", e);
+        }
+    }
+}
@@ -1,25 +1,66 @@
 package com.netflix.movies.service;
 
+import com.netflix.movies.common.CursorPage;
 import com.netflix.movies.dto.CreateMovieDto;
 import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.dto.MovieSearchHitDto;
+import com.netflix.movies.dto.MovieVersion;
+import com.netflix.movies.dto.Versioned;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface MovieService {
 
-    List<MovieDto> findAll();
+    // Full-text matches ranked per search, best full-text rank first; results end after this many
+    int SEARCH_CANDIDATE_LIMIT = 500;
+
+    CursorPage<MovieDto> findAll(String after, Integer limit);
+
+    long exportAll(Consumer<MovieDto> consumer);
 
     MovieDto findById(Long id);
 
+    MovieVersion findVersion(Long id);
+
+    List<MovieVersion> findPageVersions(String after, Integer limit);
+
+    /**
+     * The page of {@link #findAll} with the ETag of exactly those rows, both
+     * read from one snapshot.
+     */
+    Versioned<CursorPage<MovieDto>> findAllVersioned(String after, Integer limit);
+
+    Versioned<MovieDto> findVersionedById(Long id);
+
+    List<MovieDto> findByIds(List<Long> ids);
+
     MovieDto create(CreateMovieDto createMovieDto);
 
-    MovieDto update(Long id, CreateMovieDto updateMovieDto);
+    List<MovieDto> createAll(List<CreateMovieDto> createMovieDtos);
+
+    /**
+     * Updates the movie; a non-null {@code expectedVersion} must match the stored
+     * version, otherwise the update fails with an optimistic locking failure.
+     */
+    MovieDto update(Long id, CreateMovieDto updateMovieDto, Long expectedVersion);
+
+    /**
+     * Same as {@link #update}, with the version this update wrote.
+     */
+    Versioned<MovieDto> updateVersioned(Long id, CreateMovieDto updateMovieDto, Long expectedVersion);
 
     void deleteById(Long id);
 
-    List<MovieDto> findByTitle(String title);
+    CursorPage<MovieDto> findByTitle(String title, String after, Integer limit);
+
+    CursorPage<MovieDto> findByGenre(String genre, String after, Integer limit);
 
-    List<MovieDto> findByGenre(String genre);
+    CursorPage<MovieDto> findByDirector(String director, String after, Integer limit);
 
-    List<MovieDto> findByDirector(String director);
+    /**
+     * Ranked full-text search. Only the {@link #SEARCH_CANDIDATE_LIMIT} matches with
+     * the highest full-text rank are ranked and paged through.
+     */
+    CursorPage<MovieSearchHitDto> search(String query, String after, Integer limit);
 }
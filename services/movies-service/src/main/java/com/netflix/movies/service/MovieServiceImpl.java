@@ -1,41 +1,158 @@
 package com.netflix.movies.service;
 
+import com.netflix.movies.common.CursorPage;
+import com.netflix.movies.common.SearchCursor;
+import com.netflix.movies.config.CacheConfig;
 import com.netflix.movies.dto.CreateMovieDto;
 import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.dto.MovieSearchHitDto;
+import com.netflix.movies.dto.MovieVersion;
+import com.netflix.movies.dto.Versioned;
 import com.netflix.movies.entity.Movie;
 import com.netflix.movies.repository.MovieRepository;
+import com.netflix.movies.repository.MovieSearchHit;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// One timer per method, tagged class and method
+@Observed(name = "movies.service")
 @Service
 @Transactional
 public class MovieServiceImpl implements MovieService {
 
+    // Keeps each IN (...) list well below the PostgreSQL bind parameter limit
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    // Upper bound for one bulk request; larger feeds are sent in several requests
+    private static final int MAX_BULK_SIZE = 5000;
+
+    // Rows persisted between flushes, a multiple of hibernate.jdbc.batch_size
+    private static final int BULK_FLUSH_SIZE = 500;
+
+    // Shorter trailing terms are matched exactly; a one-letter prefix matches most of the catalog
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    // Unknown terms this long or longer are expanded with the closest title words
+    private static final int MIN_CORRECTION_LENGTH = 4;
+
+    private static final int MAX_CORRECTIONS = 3;
+
+    // Dropped when the query has other terms: they match most titles and only slow the index scan
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "of", "the");
+
     @Autowired
     private MovieRepository movieRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findAll() {
-        return movieRepository.findAll()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findAll(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findPage(CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<MovieDto> consumer) {
+        long count = 0;
+        // DTO rows are never attached, so the persistence context does not grow with the catalog
+        try (Stream<MovieDto> movies = movieRepository.streamAll()) {
+            for (MovieDto movie : (Iterable<MovieDto>) movies::iterator) {
+                consumer.accept(movie);
+                count++;
+            }
+        }
+        return count;
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
     public MovieDto findById(Long id) {
-        Movie movie = movieRepository.findById(id)
+        return movieRepository.findDtoById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MovieVersion findVersion(Long id) {
+        return movieRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieVersion> findPageVersions(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return movieRepository.findPageVersions(CursorPage.decodeCursor(after), pageWindow(pageSize));
+    }
+
+    @Override
+    // Repeatable read: both statements see the same snapshot, so no update can fall between them
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<CursorPage<MovieDto>> findAllVersioned(String after, Integer limit) {
+        String eTag = MovieVersion.eTag(findPageVersions(after, limit));
+        return new Versioned<>(findAll(after, limit), eTag, null);
+    }
+
+    @Override
+    // Reads the row rather than the detail cache, which may be ahead of or behind the snapshot
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<MovieDto> findVersionedById(Long id) {
+        MovieVersion version = findVersion(id);
+        MovieDto movie = movieRepository.findDtoById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
-        return convertToDto(movie);
+        return Versioned.of(movie, version);
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<MovieDto> findByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, MovieDto> moviesById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            movieRepository.findDtosByIdIn(chunk)
+                    .forEach(movie -> moviesById.put(movie.id(), movie));
+        }
+
+        // Preserve request order; ids that do not exist map to null
+        return ids.stream()
+                .map(id -> id != null ? moviesById.get(id) : null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.MOVIES_CACHE, key = "#result.id()")
     public MovieDto create(CreateMovieDto createMovieDto) {
         Movie movie = convertToEntity(createMovieDto);
         Movie savedMovie = movieRepository.save(movie);
@@ -43,9 +160,49 @@ public class MovieServiceImpl implements MovieService {
     }
 
     @Override
-    public MovieDto update(Long id, CreateMovieDto updateMovieDto) {
+    public List<MovieDto> createAll(List<CreateMovieDto> createMovieDtos) {
+        if (createMovieDtos.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Bulk create accepts at most " + MAX_BULK_SIZE + " movies");
+        }
+
+        List<MovieDto> created = new ArrayList<>(createMovieDtos.size());
+        for (int from = 0; from < createMovieDtos.size(); from += BULK_FLUSH_SIZE) {
+            List<Movie> batch = createMovieDtos.subList(from, Math.min(from + BULK_FLUSH_SIZE, createMovieDtos.size()))
+                    .stream()
+                    .map(this::convertToEntity)
+                    .collect(Collectors.toList());
+            movieRepository.saveAll(batch);
+            // Sends the pending inserts as JDBC batches and keeps the persistence context small
+            entityManager.flush();
+            batch.forEach(movie -> created.add(convertToDto(movie)));
+            entityManager.clear();
+        }
+        return created;
+    }
+
+    @Override
+    @CachePut(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
+    public MovieDto update(Long id, CreateMovieDto updateMovieDto, Long expectedVersion) {
+        return convertToDto(applyUpdate(id, updateMovieDto, expectedVersion));
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
+    public Versioned<MovieDto> updateVersioned(Long id, CreateMovieDto updateMovieDto, Long expectedVersion) {
+        Movie updatedMovie = applyUpdate(id, updateMovieDto, expectedVersion);
+        // The flush increments the version and sets updatedAt
+        movieRepository.flush();
+        return Versioned.of(convertToDto(updatedMovie),
+                new MovieVersion(updatedMovie.getId(), updatedMovie.getVersion(), updatedMovie.getUpdatedAt()));
+    }
+
+    private Movie applyUpdate(Long id, CreateMovieDto updateMovieDto, Long expectedVersion) {
         Movie existingMovie = movieRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
+        // Writes racing past this check are caught by the @Version check on flush
+        if (expectedVersion != null && !expectedVersion.equals(existingMovie.getVersion())) {
+            throw new OptimisticLockingFailureException("Movie has been modified: " + id);
+        }
 
         existingMovie.setTitle(updateMovieDto.title());
         existingMovie.setDescription(updateMovieDto.description());
@@ -53,11 +210,11 @@ public class MovieServiceImpl implements MovieService {
         existingMovie.setGenre(updateMovieDto.genre());
         existingMovie.setDirector(updateMovieDto.director());
 
-        Movie updatedMovie = movieRepository.save(existingMovie);
-        return convertToDto(updatedMovie);
+        return movieRepository.save(existingMovie);
     }
 
     @Override
+    @CacheEvict(cacheNames = CacheConfig.MOVIES_CACHE, key = "#id")
     public void deleteById(Long id) {
         if (!movieRepository.existsById(id)) {
             throw new IllegalArgumentException("Movie not found with id: " + id);
@@ -67,32 +224,121 @@ public class MovieServiceImpl implements MovieService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByTitle(String title) {
-        return movieRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findByTitle(String title, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByTitleContainingIgnoreCase(title, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByGenre(String genre) {
-        return movieRepository.findByGenre(genre)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findByGenre(String genre, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByGenre(genre, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MovieDto> findByDirector(String director, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByDirectorContainingIgnoreCase(director, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByDirector(String director) {
-        return movieRepository.findByDirectorContainingIgnoreCase(director)
-                .stream()
-                .map(this::convertToDto)
+    public CursorPage<MovieSearchHitDto> search(String query, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        SearchCursor cursor = SearchCursor.decode(after);
+        List<String> terms = searchTerms(query);
+        if (terms.isEmpty()) {
+            return new CursorPage<>(List.of(), null, false);
+        }
+
+        List<MovieSearchHit> hits = movieRepository.search(toPrefixTsQuery(withoutStopWords(terms)), String.join(" ", terms),
+                SEARCH_CANDIDATE_LIMIT, cursor.score(), cursor.id(), pageSize + 1);
+        boolean hasNextPage = hits.size() > pageSize;
+        List<MovieSearchHit> pageHits = hasNextPage ? hits.subList(0, pageSize) : hits;
+
+        Map<Long, MovieDto> moviesById = new HashMap<>();
+        movieRepository.findDtosByIdIn(pageHits.stream().map(MovieSearchHit::getId).collect(Collectors.toList()))
+                .forEach(movie -> moviesById.put(movie.id(), movie));
+
+        List<MovieSearchHitDto> results = pageHits.stream()
+                .filter(hit -> moviesById.containsKey(hit.getId()))
+                .map(hit -> new MovieSearchHitDto(moviesById.get(hit.getId()), hit.getRank()))
+                .collect(Collectors.toList());
+        String endCursor = pageHits.isEmpty() ? null : new SearchCursor(
+                pageHits.get(pageHits.size() - 1).getRank(),
+                pageHits.get(pageHits.size() - 1).getId()).encode();
+        return new CursorPage<>(results, endCursor, hasNextPage);
+    }
+
+    private List<String> searchTerms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
                 .collect(Collectors.toList());
     }
 
-    private MovieDto convertToDto(Movie movie) {
+    private List<String> withoutStopWords(List<String> terms) {
+        List<String> remaining = terms.stream()
+                .filter(term -> !STOP_WORDS.contains(term))
+                .collect(Collectors.toList());
+        return remaining.isEmpty() ? terms : remaining;
+    }
+
+    // Terms only contain letters and digits, so they need no tsquery escaping
+    private String toPrefixTsQuery(List<String> terms) {
+        StringBuilder tsQuery = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            boolean prefix = i == terms.size() - 1 && term.length() >= MIN_PREFIX_LENGTH;
+            if (i > 0) {
+                tsQuery.append(" & ");
+            }
+            tsQuery.append(withCorrections(term, prefix));
+        }
+        return tsQuery.toString();
+    }
+
+    /**
+     * A term no title word matches is OR-ed with the most similar title words, so a
+     * misspelled title still finds candidates through the full-text index. The term
+     * itself is kept: it may match a director or genre instead.
+     */
+    private String withCorrections(String term, boolean prefix) {
+        String match = prefix ? term + ":*" : term;
+        if (term.length() < MIN_CORRECTION_LENGTH) {
+            return match;
+        }
+        boolean known = movieRepository.findFirstTitleWordFrom(term)
+                .filter(word -> prefix ? word.startsWith(term) : word.equals(term))
+                .isPresent();
+        if (known) {
+            return match;
+        }
+        List<String> corrections = movieRepository.findSimilarTitleWords(term, MAX_CORRECTIONS);
+        if (corrections.isEmpty()) {
+            return match;
+        }
+        StringBuilder tsQuery = new StringBuilder("(").append(match);
+        // Title words come from the parser, not the user; quote them in case they hold tsquery operators
+        corrections.forEach(word -> tsQuery.append(" | '").append(word.replace("'", "''")).append("'"));
+        return tsQuery.append(")").toString();
+    }
+
+    // Reads one row beyond the page so hasNextPage needs no count query
+    private Pageable pageWindow(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    private CursorPage<MovieDto> toPage(List<MovieDto> rows, int pageSize) {
+        return CursorPage.of(rows, pageSize, MovieDto::id);
+    }
+
+    // Package-private for the mapping benchmarks in src/jmh
+    MovieDto convertToDto(Movie movie) {
         return new MovieDto(
                 movie.getId(),
                 movie.getTitle(),
@@ -103,7 +349,7 @@ public class MovieServiceImpl implements MovieService {
         );
     }
 
-    private Movie convertToEntity(CreateMovieDto dto) {
+    Movie convertToEntity(CreateMovieDto dto) {
         Movie movie = new Movie();
         movie.setTitle(dto.title());
         movie.setDescription(dto.description());
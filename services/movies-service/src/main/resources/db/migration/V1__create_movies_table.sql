@@ -0,0 +1,10 @@
+-- Baseline schema, matches what Hibernate previously generated from the Movie entity.
+-- Existing databases are baselined at this version and skip it.
+CREATE TABLE IF NOT EXISTS movies (
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title        VARCHAR(255)  NOT NULL,
+    description  VARCHAR(1000),
+    release_date DATE,
+    genre        VARCHAR(255),
+    director     VARCHAR(255)
+);
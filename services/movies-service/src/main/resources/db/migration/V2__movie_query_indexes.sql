@@ -0,0 +1,22 @@
+-- Query indexes for the movie catalog
+
+-- Keyset pagination of the genre filter
+CREATE INDEX IF NOT EXISTS idx_movies_genre_id ON movies (genre, id);
+
+-- Full-text and trigram search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Weighted document: title ranks above director, director above genre.
+-- The 'simple' configuration skips stemming so prefix queries match what users type.
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(director, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(genre, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_movies_search_vector ON movies USING GIN (search_vector);
+
+-- Serve fuzzy title matching and the existing LOWER(x) LIKE '%q%' filters
+CREATE INDEX IF NOT EXISTS idx_movies_title_trgm ON movies USING GIN (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_movies_director_trgm ON movies USING GIN (lower(director) gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- Movie ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts.
+-- The identity column keeps its default for plain SQL inserts; each nextval now reserves a block of 50.
+ALTER TABLE movies ALTER COLUMN id SET INCREMENT BY 50;
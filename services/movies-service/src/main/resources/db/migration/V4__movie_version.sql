@@ -0,0 +1,4 @@
+-- Optimistic locking and conditional requests: version backs the ETag, updated_at Last-Modified.
+-- Defaults cover existing rows and plain SQL inserts such as the feed import.
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE movies ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP(6) NOT NULL DEFAULT now();
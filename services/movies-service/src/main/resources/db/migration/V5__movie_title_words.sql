@@ -0,0 +1,15 @@
+-- Vocabulary of title words, used to correct misspelled search terms before they reach
+-- the full-text index. Refreshed on a schedule by TitleWordsRefresher; the unique index
+-- allows REFRESH ... CONCURRENTLY so searches keep reading the previous version meanwhile.
+CREATE MATERIALIZED VIEW IF NOT EXISTS movie_title_words AS
+    SELECT word
+    FROM ts_stat('SELECT to_tsvector(''simple'', coalesce(title, '''')) FROM movies');
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_movie_title_words_word ON movie_title_words (word);
+
+-- Byte-order seek for the trailing, still-being-typed term: the first word at or after
+-- the term starts with it if any word does
+CREATE INDEX IF NOT EXISTS idx_movie_title_words_prefix ON movie_title_words (word COLLATE "C");
+
+-- Nearest words by trigram similarity for unknown terms
+CREATE INDEX IF NOT EXISTS idx_movie_title_words_trgm ON movie_title_words USING GIN (word gin_trgm_ops);
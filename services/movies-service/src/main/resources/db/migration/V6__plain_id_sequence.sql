@@ -0,0 +1,7 @@
+-- Hibernate's schema validation looks sequences up in information_schema.sequences, which does not
+-- list identity sequences. Replace the identity with a plain sequence of the same name and step;
+-- plain SQL inserts keep drawing ids from it through the column default.
+ALTER TABLE movies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS movies_id_seq INCREMENT BY 50 OWNED BY movies.id;
+SELECT setval('movies_id_seq', (SELECT coalesce(max(id), 0) + 50 FROM movies));
+ALTER TABLE movies ALTER COLUMN id SET DEFAULT nextval('movies_id_seq');
@@ -0,0 +1,113 @@
+package com.netflix.movies.controller;
+
+import com.netflix.movies.dto.CreateMovieDto;
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags on the movie endpoints: 304 for an unchanged movie or page, 412 for
+ * an update against a stale version, and a new ETag once an update succeeds.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+class MovieConditionalRequestTest {
+
+    private static final String HEAT = """
+            {"title": "Heat (1995)", "genre": "Crime", "director": "Michael Mann"}
+            """;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Test
+    void unchangedMovieAnswersNotModified() throws Exception {
+        Long id = createMovie();
+        String eTag = eTagOf("/api/movies/" + id);
+
+        mockMvc.perform(get("/api/movies/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void unchangedPageAnswersNotModified() throws Exception {
+        createMovie();
+        String eTag = eTagOf("/api/movies?limit=5");
+
+        mockMvc.perform(get("/api/movies?limit=5").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void updateWithStaleIfMatchFails() throws Exception {
+        Long id = createMovie();
+        String eTag = eTagOf("/api/movies/" + id);
+        movieService.update(id, new CreateMovieDto("Heat", null, null, "Thriller", "Michael Mann"), null);
+
+        mockMvc.perform(put("/api/movies/" + id)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HEAT))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(movieService.findById(id).genre()).isEqualTo("Thriller");
+    }
+
+    @Test
+    void successfulUpdateReturnsTheNewETag() throws Exception {
+        Long id = createMovie();
+        String eTag = eTagOf("/api/movies/" + id);
+
+        String updatedETag = mockMvc.perform(put("/api/movies/" + id)
+                        .header(HttpHeaders.IF_MATCH, eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(HEAT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.title").value("Heat (1995)"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(updatedETag).isNotNull().isNotEqualTo(eTag);
+        mockMvc.perform(get("/api/movies/" + id).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, updatedETag));
+        mockMvc.perform(get("/api/movies/" + id).header(HttpHeaders.IF_NONE_MATCH, updatedETag))
+                .andExpect(status().isNotModified());
+    }
+
+    private Long createMovie() {
+        MovieDto movie = movieService.create(new CreateMovieDto("Heat", null, null, "Crime", "Michael Mann"));
+        return movie.id();
+    }
+
+    private String eTagOf(String uri) throws Exception {
+        String eTag = mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+        return eTag;
+    }
+}
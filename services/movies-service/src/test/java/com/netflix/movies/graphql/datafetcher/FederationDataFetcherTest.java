@@ -0,0 +1,91 @@
+package com.netflix.movies.graphql.datafetcher;
+
+import com.netflix.movies.dto.CreateMovieDto;
+import com.netflix.movies.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@code _entities} answers one result per representation, in request order,
+ * with null for movies that do not exist.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Testcontainers(disabledWithoutDocker = true)
+class FederationDataFetcherTest {
+
+    private static final String ENTITIES = """
+            query($representations: [_Any!]!) {
+                _entities(representations: $representations) { ... on Movie { id title } }
+            }""";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Test
+    void keepsRequestOrderAndAnswersNullForMissingMovies() {
+        Long heat = movieService.create(new CreateMovieDto("Heat", null, null, "Crime", null)).id();
+        Long thief = movieService.create(new CreateMovieDto("Thief", null, null, "Crime", null)).id();
+
+        List<Map<String, Object>> entities = graphQlTester.document(ENTITIES)
+                .variable("representations", List.of(
+                        movie(thief), movie(999_999_999L), movie(heat), movie(thief)))
+                .execute()
+                .path("_entities").entityList(Object.class).get()
+                .stream().map(FederationDataFetcherTest::asMap).toList();
+
+        assertThat(entities).containsExactly(
+                Map.of("id", thief.toString(), "title", "Thief"),
+                null,
+                Map.of("id", heat.toString(), "title", "Heat"),
+                Map.of("id", thief.toString(), "title", "Thief"));
+    }
+
+    @Test
+    void answersNullForRepresentationsOfOtherTypes() {
+        Long heat = movieService.create(new CreateMovieDto("Heat", null, null, "Crime", null)).id();
+
+        graphQlTester.document(ENTITIES)
+                .variable("representations", List.of(
+                        Map.of("__typename", "User", "id", heat.toString()), movie(heat)))
+                .execute()
+                .path("_entities[0]").valueIsNull()
+                .path("_entities[1].title").entity(String.class).isEqualTo("Heat");
+    }
+
+    @Test
+    void servesItsSchemaForComposition() {
+        graphQlTester.document("{ _service { sdl } }")
+                .execute()
+                .path("_service.sdl").entity(String.class)
+                .satisfies(sdl -> assertThat(sdl).contains("type Movie @key(fields: \"id\")"));
+    }
+
+    private static Map<String, Object> movie(Long id) {
+        return Map.of("__typename", "Movie", "id", id.toString());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object entity) {
+        return (Map<String, Object>) entity;
+    }
+}
@@ -0,0 +1,137 @@
+package com.netflix.movies.importer;
+
+import com.netflix.common.importer.ImportJob;
+import com.netflix.common.importer.ImportReport;
+import com.netflix.movies.dto.CreateMovieDto;
+import com.netflix.movies.dto.MovieDto;
+import com.netflix.movies.service.MovieService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog feeds go through COPY, the staging table and the merge in several
+ * chunks, with rejected rows reported and the rest still loaded.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class MovieImportTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("movies.import.directory", () -> importDirectory.toString());
+        // Small chunks, so every feed is merged in several transactions
+        registry.add("movies.import.chunk-size", () -> 2);
+    }
+
+    @Autowired
+    private MovieImportService movieImportService;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Test
+    void insertsUpdatesAndRejectsRows() throws Exception {
+        MovieDto existing = movieService.create(new CreateMovieDto("Heat", null, null, "Crime", "Michael Mann"));
+        // Cached before the import, which bypasses the service layer
+        movieService.findById(existing.id());
+
+        ImportReport report = runImport("catalog.csv", """
+                id,title,description,releaseDate,genre,director
+                ,Ronin,,1998-09-25,Action,John Frankenheimer
+                %d,Heat (1995),,,Crime,Michael Mann
+                ,,,,Drama,
+                999999999,Unknown,,,,
+                ,The Keep,,1983-12-16,Horror,Michael Mann
+                """.formatted(existing.id()));
+
+        assertThat(report.status()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(2);
+        assertThat(report.rejectedRows()).containsExactly(
+                new ImportReport.RejectedRow(3, "Title cannot be null or empty"),
+                new ImportReport.RejectedRow(4, "Movie not found with id: 999999999"));
+        assertThat(Files.readAllLines(Path.of(report.rejectsFile()))).hasSize(2);
+
+        assertThat(movieService.findById(existing.id()).title()).isEqualTo("Heat (1995)");
+        MovieDto ronin = single(movieService.findByTitle("Ronin", null, 10).items());
+        assertThat(ronin.releaseDate()).hasToString("1998-09-25");
+        MovieDto keep = single(movieService.findByTitle("The Keep", null, 10).items());
+
+        // Imported ids come from the same sequence blocks as the application's
+        MovieDto created = movieService.create(new CreateMovieDto("Collateral", null, null, "Crime", "Michael Mann"));
+        assertThat(List.of(existing.id(), ronin.id(), keep.id(), created.id())).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void lastRowWinsWhenAChunkRepeatsAnId() throws Exception {
+        MovieDto existing = movieService.create(new CreateMovieDto("Manhunter", null, null, "Thriller", null));
+
+        ImportReport report = runImport("repeated.ndjson", """
+                {"id": %1$d, "title": "Manhunter (first)"}
+                {"id": %1$d, "title": "Manhunter (second)", "genre": "Crime"}
+                """.formatted(existing.id()));
+
+        assertThat(report.status()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(report.updated()).isEqualTo(1);
+        MovieDto updated = movieService.findById(existing.id());
+        assertThat(updated.title()).isEqualTo("Manhunter (second)");
+        assertThat(updated.genre()).isEqualTo("Crime");
+    }
+
+    @Test
+    void rejectsUnparseableRecordsAndKeepsReading() throws Exception {
+        ImportReport report = runImport("broken.ndjson", """
+                {"title": "The Insider"}
+                {"title": "Ali",
+                {"title": "Public Enemies", "releaseDate": "not a date"}
+
+                {"title": "Blackhat", "releaseDate": "2015-01-16"}
+                """);
+
+        assertThat(report.status()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.rejectedRows()).extracting(ImportReport.RejectedRow::row).containsExactly(2L, 3L);
+    }
+
+    private ImportReport runImport(String fileName, String content) throws IOException, InterruptedException {
+        Files.writeString(importDirectory.resolve(fileName), content);
+        String id = movieImportService.start(fileName).id();
+        for (int attempt = 0; attempt < 300; attempt++) {
+            ImportReport report = movieImportService.findById(id);
+            if (report.status() != ImportJob.Status.RUNNING) {
+                return report;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+
+    private static MovieDto single(List<MovieDto> movies) {
+        assertThat(movies).hasSize(1);
+        return movies.get(0);
+    }
+}
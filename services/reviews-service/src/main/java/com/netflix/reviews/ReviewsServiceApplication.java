@@ -1,9 +1,12 @@
 package com.netflix.reviews;
 
+import com.netflix.common.web.ConcurrencyLimitConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@Import(ConcurrencyLimitConfig.class)
 public class ReviewsServiceApplication {
 
     public static void main(String[] args) {
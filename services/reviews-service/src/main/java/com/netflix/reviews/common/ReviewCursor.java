@@ -0,0 +1,48 @@
+package com.netflix.reviews.common;
+
+import com.netflix.reviews.dto.ReviewDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a newest-first review feed: results are ordered by
+ * creation time descending, then id descending.
+ */
+public record ReviewCursor(LocalDateTime createdAt, long id) {
+
+    // Later than any stored review, so the first page starts at the newest one
+    public static final ReviewCursor START = new ReviewCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String CURSOR_PREFIX = "created:";
+
+    public static ReviewCursor of(ReviewDto review) {
+        return new ReviewCursor(review.createdAt(), review.id());
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + createdAt + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ReviewCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return START;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            String[] parts = decoded.substring(CURSOR_PREFIX.length()).split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new ReviewCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.netflix.reviews.controller;
+
+import com.netflix.common.batch.BatchIds;
+import com.netflix.reviews.common.ApiResponse;
+import com.netflix.reviews.common.CursorPage;
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reviews")
+public class ReviewController {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto>>> getAllReviews(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<ReviewDto> reviews = reviewService.findAll(after, limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Reviews retrieved successfully", reviews)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reviews"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReviewDto>> getReviewById(@PathVariable Long id) {
+        try {
+            ReviewDto review = reviewService.findById(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("Review retrieved successfully", review)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve review"));
+        }
+    }
+
+    @GetMapping("/movie/{movieId}")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto>>> getReviewsByMovie(
+            @PathVariable Long movieId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<ReviewDto> reviews = reviewService.findByMovieId(movieId, after, limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Reviews retrieved successfully", reviews)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reviews"));
+        }
+    }
+
+    @GetMapping("/user/{userId}")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewDto>>> getReviewsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPage<ReviewDto> reviews = reviewService.findByUserId(userId, after, limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Reviews retrieved successfully", reviews)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reviews"));
+        }
+    }
+
+    /**
+     * Returns the newest {@code limit} reviews of each given movie in one response,
+     * grouped by movie and newest first within each movie.
+     */
+    @PostMapping("/batch/movies")
+    public ResponseEntity<ApiResponse<List<ReviewDto>>> getReviewsByMovieIds(
+            @RequestBody List<Long> movieIds,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<ReviewDto> reviews = reviewService.findByMovieIds(BatchIds.check(movieIds), limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Reviews retrieved successfully", reviews)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reviews"));
+        }
+    }
+
+    @PostMapping("/batch/users")
+    public ResponseEntity<ApiResponse<List<ReviewDto>>> getReviewsByUserIds(
+            @RequestBody List<Long> userIds,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            List<ReviewDto> reviews = reviewService.findByUserIds(BatchIds.check(userIds), limit);
+            return ResponseEntity.ok(
+                ApiResponse.success("Reviews retrieved successfully", reviews)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve reviews"));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReviewDto>> createReview(@Valid @RequestBody CreateReviewDto createReviewDto) {
+        try {
+            ReviewDto createdReview = reviewService.create(createReviewDto);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Review created successfully", createdReview));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create review"));
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReviewDto>> updateReview(@PathVariable Long id,
+                                                              @Valid @RequestBody CreateReviewDto updateReviewDto) {
+        try {
+            ReviewDto updatedReview = reviewService.update(id, updateReviewDto);
+            return ResponseEntity.ok(
+                ApiResponse.success("Review updated successfully", updatedReview)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to update review"));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteReview(@PathVariable Long id) {
+        try {
+            reviewService.deleteById(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("Review deleted successfully", null)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to delete review"));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.netflix.reviews.dto;
+
+public record MovieRatingDto(
+        Long movieId,
+        Double averageRating,
+        long reviewCount
+) {
+}
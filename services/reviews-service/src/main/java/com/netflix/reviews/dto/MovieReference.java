@@ -0,0 +1,7 @@
+package com.netflix.reviews.dto;
+
+/**
+ * A movie owned by movies-service, known here only by its key.
+ */
+public record MovieReference(Long id) {
+}
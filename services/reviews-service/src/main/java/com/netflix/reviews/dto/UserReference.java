@@ -0,0 +1,7 @@
+package com.netflix.reviews.dto;
+
+/**
+ * A user owned by users-service, known here only by its key.
+ */
+public record UserReference(Long id) {
+}
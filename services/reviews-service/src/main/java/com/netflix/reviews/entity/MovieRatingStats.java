@@ -0,0 +1,28 @@
+package com.netflix.reviews.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Per-movie rating aggregates, maintained incrementally as reviews are written
+ * so that averageRating and reviewCount never require reading review rows.
+ */
+@Entity
+@Data
+@Table(name = "movie_rating_stats")
+public class MovieRatingStats {
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    public Double averageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : null;
+    }
+}
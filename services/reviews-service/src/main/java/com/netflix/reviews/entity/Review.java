@@ -11,11 +11,15 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "reviews")
+@Table(name = "reviews", indexes = {
+        @Index(name = "idx_reviews_movie_id_created_at", columnList = "movie_id, created_at, id"),
+        @Index(name = "idx_reviews_user_id_created_at", columnList = "user_id, created_at, id")
+})
 public class Review {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reviews_id_seq")
+    @SequenceGenerator(name = "reviews_id_seq", sequenceName = "reviews_id_seq", allocationSize = 50)
     private Long id;
 
     @Size(max = 1000, message = "Review text must not exceed 1000 characters")
@@ -0,0 +1,77 @@
+package com.netflix.reviews.graphql.datafetcher;
+
+import com.netflix.reviews.dto.MovieReference;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.dto.UserReference;
+import com.netflix.reviews.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Federation fields the gateway composes its query plans from and resolves entities through.
+ */
+@Controller
+public class FederationDataFetcher {
+
+    private static final String REVIEW = "Review";
+    private static final String MOVIE = "Movie";
+    private static final String USER = "User";
+
+    @Autowired
+    private ReviewService reviewService;
+
+    private final String sdl;
+
+    public FederationDataFetcher(@Value("classpath:schema/schema.graphqls") Resource schema) throws IOException {
+        this.sdl = schema.getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    @QueryMapping("_service")
+    public Map<String, String> service() {
+        return Map.of("sdl", sdl);
+    }
+
+    // Reviews are loaded with one batched query, movies and users only need their key.
+    // Results keep the order of the representations, null when not found.
+    @QueryMapping("_entities")
+    public List<Object> entities(@Argument List<Map<String, Object>> representations) {
+        List<Long> reviewIds = representations.stream()
+                .filter(representation -> REVIEW.equals(representation.get("__typename")))
+                .map(FederationDataFetcher::id)
+                .collect(Collectors.toList());
+        Iterator<ReviewDto> reviews = reviewService.findByIds(reviewIds).iterator();
+
+        List<Object> entities = new ArrayList<>(representations.size());
+        for (Map<String, Object> representation : representations) {
+            Long id = id(representation);
+            Object typeName = representation.get("__typename");
+            if (REVIEW.equals(typeName)) {
+                entities.add(reviews.next());
+            } else if (MOVIE.equals(typeName) && id != null) {
+                entities.add(new MovieReference(id));
+            } else if (USER.equals(typeName) && id != null) {
+                entities.add(new UserReference(id));
+            } else {
+                entities.add(null);
+            }
+        }
+        return entities;
+    }
+
+    private static Long id(Map<String, Object> representation) {
+        Object id = representation.get("id");
+        return id != null ? Long.valueOf(String.valueOf(id)) : null;
+    }
+}
@@ -0,0 +1,38 @@
+package com.netflix.reviews.graphql.datafetcher;
+
+import com.netflix.reviews.common.CursorPage;
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.MovieReference;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.graphql.dataloader.DataLoaderRegistrar.FeedKey;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+public class MovieDataFetcher {
+
+    @SchemaMapping(typeName = "Movie", field = "reviews")
+    public CompletableFuture<List<ReviewDto>> reviews(MovieReference movie, @Argument Integer first,
+                                                      DataLoader<FeedKey, List<ReviewDto>> reviewsByMovieId) {
+        return reviewsByMovieId.load(new FeedKey(movie.id(), CursorPage.normalizeLimit(first)))
+                .thenApply(reviews -> reviews != null ? reviews : List.of());
+    }
+
+    // Both aggregates share one batched lookup of movie_rating_stats and never read the reviews themselves
+    @SchemaMapping(typeName = "Movie", field = "averageRating")
+    public CompletableFuture<Float> averageRating(MovieReference movie, DataLoader<Long, MovieRatingDto> ratingsByMovieId) {
+        return ratingsByMovieId.load(movie.id())
+                .thenApply(rating -> rating != null ? rating.averageRating().floatValue() : null);
+    }
+
+    @SchemaMapping(typeName = "Movie", field = "reviewCount")
+    public CompletableFuture<Integer> reviewCount(MovieReference movie, DataLoader<Long, MovieRatingDto> ratingsByMovieId) {
+        return ratingsByMovieId.load(movie.id())
+                .thenApply(rating -> rating != null ? (int) rating.reviewCount() : 0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.netflix.reviews.graphql.datafetcher;
+
+import com.netflix.common.batch.BatchIds;
+import com.netflix.reviews.common.ReviewCursor;
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.MovieReference;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.dto.UserReference;
+import com.netflix.reviews.graphql.connection.Connection;
+import com.netflix.reviews.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Controller
+public class ReviewDataFetcher {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @QueryMapping
+    public Connection<ReviewDto> reviews(@Argument Integer first, @Argument String after) {
+        return Connection.from(reviewService.findAll(after, first), ReviewDto::id);
+    }
+
+    @QueryMapping
+    public ReviewDto review(@Argument String id) {
+        return reviewService.findById(Long.valueOf(id));
+    }
+
+    @QueryMapping
+    public Connection<ReviewDto> reviewsByMovie(@Argument String movieId, @Argument Integer first, @Argument String after) {
+        return Connection.withCursors(reviewService.findByMovieId(Long.valueOf(movieId), after, first),
+                review -> ReviewCursor.of(review).encode());
+    }
+
+    @QueryMapping
+    public Connection<ReviewDto> reviewsByUser(@Argument String userId, @Argument Integer first, @Argument String after) {
+        return Connection.withCursors(reviewService.findByUserId(Long.valueOf(userId), after, first),
+                review -> ReviewCursor.of(review).encode());
+    }
+
+    @QueryMapping
+    public List<ReviewDto> reviewsByMovieIds(@Argument List<Long> movieIds, @Argument Integer first) {
+        return reviewService.findByMovieIds(BatchIds.check(movieIds), first);
+    }
+
+    @QueryMapping
+    public List<ReviewDto> reviewsByUserIds(@Argument List<Long> userIds, @Argument Integer first) {
+        return reviewService.findByUserIds(BatchIds.check(userIds), first);
+    }
+
+    @MutationMapping
+    public ReviewDto createReview(@Argument CreateReviewInput input) {
+        return reviewService.create(toCreateReviewDto(input));
+    }
+
+    @MutationMapping
+    public ReviewDto updateReview(@Argument String id, @Argument CreateReviewInput input) {
+        return reviewService.update(Long.valueOf(id), toCreateReviewDto(input));
+    }
+
+    @MutationMapping
+    public Boolean deleteReview(@Argument String id) {
+        reviewService.deleteById(Long.valueOf(id));
+        return true;
+    }
+
+    // Only the key is known here, the gateway fetches the other fields from the owning service
+    @SchemaMapping(typeName = "Review", field = "movie")
+    public MovieReference movie(ReviewDto review) {
+        return new MovieReference(review.movieId());
+    }
+
+    @SchemaMapping(typeName = "Review", field = "user")
+    public UserReference user(ReviewDto review) {
+        return new UserReference(review.userId());
+    }
+
+    // DateTime is an offset timestamp, the entity stores local server time
+    @SchemaMapping(typeName = "Review", field = "createdAt")
+    public OffsetDateTime createdAt(ReviewDto review) {
+        return toOffsetDateTime(review.createdAt());
+    }
+
+    @SchemaMapping(typeName = "Review", field = "updatedAt")
+    public OffsetDateTime updatedAt(ReviewDto review) {
+        return toOffsetDateTime(review.updatedAt());
+    }
+
+    private OffsetDateTime toOffsetDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime() : null;
+    }
+
+    private CreateReviewDto toCreateReviewDto(CreateReviewInput input) {
+        return new CreateReviewDto(
+                input.text(),
+                input.rating(),
+                input.movieId() != null ? Long.valueOf(input.movieId()) : null,
+                input.userId() != null ? Long.valueOf(input.userId()) : null
+        );
+    }
+
+    // Input record class for GraphQL
+    public record CreateReviewInput(
+            String text,
+            Integer rating,
+            String movieId,
+            String userId
+    ) {}
+}
@@ -0,0 +1,25 @@
+package com.netflix.reviews.graphql.datafetcher;
+
+import com.netflix.reviews.common.CursorPage;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.dto.UserReference;
+import com.netflix.reviews.graphql.dataloader.DataLoaderRegistrar.FeedKey;
+import org.dataloader.DataLoader;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+public class UserDataFetcher {
+
+    // Field contributed to User, batched across all users of one query level
+    @SchemaMapping(typeName = "User", field = "reviews")
+    public CompletableFuture<List<ReviewDto>> reviews(UserReference user, @Argument Integer first,
+                                                      DataLoader<FeedKey, List<ReviewDto>> reviewsByUserId) {
+        return reviewsByUserId.load(new FeedKey(user.id(), CursorPage.normalizeLimit(first)))
+                .thenApply(reviews -> reviews != null ? reviews : List.of());
+    }
+}
@@ -0,0 +1,73 @@
+package com.netflix.reviews.graphql.dataloader;
+
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.service.ReviewService;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registers the request-scoped DataLoaders behind the fields this service adds to
+ * movies and users, so all entities of one _entities call share a single query.
+ */
+@Component
+public class DataLoaderRegistrar {
+
+    public static final String REVIEWS_BY_MOVIE_ID = "reviewsByMovieId";
+    public static final String REVIEWS_BY_USER_ID = "reviewsByUserId";
+    public static final String RATINGS_BY_MOVIE_ID = "ratingsByMovieId";
+
+    // The newest limit reviews of one movie or user; fields asking for different limits load separately
+    public record FeedKey(Long id, int limit) {
+    }
+
+    public DataLoaderRegistrar(BatchLoaderRegistry registry, ReviewService reviewService) {
+        registry.<FeedKey, List<ReviewDto>>forName(REVIEWS_BY_MOVIE_ID)
+                .registerMappedBatchLoader((keys, env) -> Mono.fromSupplier(() ->
+                        loadFeeds(keys, reviewService::findByMovieIds, ReviewDto::movieId)));
+
+        registry.<FeedKey, List<ReviewDto>>forName(REVIEWS_BY_USER_ID)
+                .registerMappedBatchLoader((keys, env) -> Mono.fromSupplier(() ->
+                        loadFeeds(keys, reviewService::findByUserIds, ReviewDto::userId)));
+
+        // Movies without reviews have no stats row (or a zero one) and load as null
+        registry.<Long, MovieRatingDto>forName(RATINGS_BY_MOVIE_ID)
+                .registerMappedBatchLoader((movieIds, env) -> Mono.fromSupplier(() ->
+                        reviewService.findRatingsByMovieIds(List.copyOf(movieIds)).stream()
+                                .collect(Collectors.toMap(MovieRatingDto::movieId, Function.identity()))));
+    }
+
+    // One query per distinct limit, which is one query unless a request mixes limits
+    private static Map<FeedKey, List<ReviewDto>> loadFeeds(Set<FeedKey> keys,
+                                                           BiFunction<List<Long>, Integer, List<ReviewDto>> lookup,
+                                                           Function<ReviewDto, Long> keyExtractor) {
+        Map<FeedKey, List<ReviewDto>> feeds = new HashMap<>();
+        keys.stream().collect(Collectors.groupingBy(FeedKey::limit)).forEach((limit, sameLimit) -> {
+            List<Long> ids = sameLimit.stream().map(FeedKey::id).collect(Collectors.toList());
+            groupByKey(ids, lookup.apply(ids, limit), keyExtractor)
+                    .forEach((id, reviews) -> feeds.put(new FeedKey(id, limit), reviews));
+        });
+        return feeds;
+    }
+
+    private static Map<Long, List<ReviewDto>> groupByKey(Collection<Long> keys, List<ReviewDto> reviews,
+                                                         Function<ReviewDto, Long> keyExtractor) {
+        Map<Long, List<ReviewDto>> grouped = new HashMap<>();
+        keys.forEach(key -> grouped.put(key, new ArrayList<>()));
+        for (ReviewDto review : reviews) {
+            grouped.computeIfAbsent(keyExtractor.apply(review), key -> new ArrayList<>()).add(review);
+        }
+        return grouped;
+    }
+}
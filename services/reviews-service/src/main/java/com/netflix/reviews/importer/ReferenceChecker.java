@@ -0,0 +1,63 @@
+package com.netflix.reviews.importer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds which movie and user ids exist by asking movies-service and
+ * users-service through their batch endpoints. Reviews are stored in their own
+ * database, so an import cannot check its references with a join.
+ */
+@Component
+class ReferenceChecker {
+
+    // Ids per batch request, within BatchIds.MAX_IDS
+    private static final int BATCH_SIZE = 500;
+
+    private final RestClient moviesClient;
+    private final RestClient usersClient;
+
+    ReferenceChecker(RestClient.Builder builder,
+                     @Value("${services.movies.url}") String moviesUrl,
+                     @Value("${services.users.url}") String usersUrl) {
+        this.moviesClient = builder.clone().baseUrl(moviesUrl).build();
+        this.usersClient = builder.clone().baseUrl(usersUrl).build();
+    }
+
+    Set<Long> existingMovieIds(Collection<Long> ids) {
+        return existingIds(moviesClient, "/api/movies/batch", ids);
+    }
+
+    Set<Long> existingUserIds(Collection<Long> ids) {
+        return existingIds(usersClient, "/api/users/batch", ids);
+    }
+
+    private Set<Long> existingIds(RestClient client, String path, Collection<Long> ids) {
+        List<Long> remaining = List.copyOf(ids);
+        Set<Long> existing = new HashSet<>();
+        for (int from = 0; from < remaining.size(); from += BATCH_SIZE) {
+            List<Long> batch = remaining.subList(from, Math.min(from + BATCH_SIZE, remaining.size()));
+            JsonNode response = client.post()
+                    .uri(path)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(batch)
+                    .retrieve()
+                    .body(JsonNode.class);
+            // Unknown ids come back as null entries
+            for (JsonNode found : response.path("data")) {
+                if (found.hasNonNull("id")) {
+                    existing.add(found.get("id").asLong());
+                }
+            }
+        }
+        return existing;
+    }
+}
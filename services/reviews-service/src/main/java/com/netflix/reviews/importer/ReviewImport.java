@@ -0,0 +1,200 @@
+package com.netflix.reviews.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.common.importer.ImportJob;
+import com.netflix.common.importer.StagedImport;
+import com.netflix.reviews.dto.CreateReviewDto;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class ReviewImport extends StagedImport<ReviewImportRow> {
+
+    private static final String STAGING_TABLE_DDL = """
+            CREATE TEMP TABLE IF NOT EXISTS review_import_staging (
+                source_row BIGINT NOT NULL,
+                id         BIGINT,
+                text       VARCHAR(1000),
+                rating     INTEGER,
+                movie_id   BIGINT,
+                user_id    BIGINT
+            ) ON COMMIT DELETE ROWS""";
+
+    private static final String COPY_SQL =
+            "COPY review_import_staging (source_row, id, text, rating, movie_id, user_id) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // Removes the rows whose movie or user does not exist, so they are neither updated nor inserted
+    private static final String DELETE_UNKNOWN_REFERENCES_SQL = """
+            WITH removed AS (
+                DELETE FROM review_import_staging
+                WHERE movie_id = ANY (?) OR user_id = ANY (?)
+                RETURNING source_row, movie_id, user_id
+            )
+            SELECT source_row, movie_id, user_id FROM removed ORDER BY source_row""";
+
+    private static final String UNKNOWN_IDS_SQL = """
+            SELECT s.source_row, s.id
+            FROM review_import_staging s
+            WHERE s.id IS NOT NULL
+              AND NOT EXISTS (SELECT 1 FROM reviews r WHERE r.id = s.id)
+            ORDER BY s.source_row""";
+
+    // movie_rating_stats is kept the same way the service does it: the reviews a chunk replaces are
+    // subtracted (locked first, so no concurrent write changes them in between), and the merged
+    // reviews are added back once they are written.
+    private static final String STATS_UPSERT = """
+            INSERT INTO movie_rating_stats (movie_id, review_count, rating_sum)
+            SELECT movie_id, %1$d * count(*), %1$d * sum(rating) FROM (%2$s) changed GROUP BY movie_id
+            ON CONFLICT (movie_id) DO UPDATE SET
+                review_count = movie_rating_stats.review_count + EXCLUDED.review_count,
+                rating_sum = movie_rating_stats.rating_sum + EXCLUDED.rating_sum""";
+
+    private static final String SUBTRACT_REPLACED_RATINGS_SQL = STATS_UPSERT.formatted(-1, """
+            SELECT r.movie_id, r.rating FROM reviews r
+            WHERE r.id IN (SELECT id FROM review_import_staging)
+            FOR UPDATE""");
+
+    private static final String ADD_MERGED_RATINGS_SQL = STATS_UPSERT.formatted(1, """
+            SELECT r.movie_id, r.rating FROM reviews r
+            WHERE r.id IN (SELECT id FROM review_import_staging)
+            UNION ALL
+            SELECT s.movie_id, s.rating FROM review_import_staging s
+            WHERE s.id IS NULL""");
+
+    // The last row wins when a chunk updates the same review twice
+    private static final String UPDATE_SQL = """
+            UPDATE reviews r
+            SET text = s.text,
+                rating = s.rating,
+                movie_id = s.movie_id,
+                user_id = s.user_id,
+                updated_at = ?
+            FROM (SELECT DISTINCT ON (id) * FROM review_import_staging
+                  WHERE id IS NOT NULL
+                  ORDER BY id, source_row DESC) s
+            WHERE r.id = s.id""";
+
+    // New ids are taken in blocks of 50 from reviews_id_seq, the same way Hibernate's pooled
+    // optimizer does (a block is (hi - 50, hi]). A first value below 50 is not a full block and
+    // is skipped, which is why one spare block is reserved.
+    private static final String INSERT_SQL = """
+            WITH new_rows AS (
+                SELECT s.*, row_number() OVER (ORDER BY s.source_row) - 1 AS n
+                FROM review_import_staging s
+                WHERE s.id IS NULL
+            ), id_blocks AS (
+                SELECT row_number() OVER () - 1 AS block, hi
+                FROM (SELECT nextval('reviews_id_seq') AS hi
+                      FROM generate_series(1, (SELECT CASE WHEN count(*) = 0 THEN 0 ELSE count(*) / 50 + 2 END
+                                               FROM new_rows))) reserved
+                WHERE hi >= 50
+            )
+            INSERT INTO reviews (id, text, rating, movie_id, user_id, created_at, updated_at)
+            SELECT b.hi - 49 + r.n % 50, r.text, r.rating, r.movie_id, r.user_id, ?, ?
+            FROM new_rows r
+            JOIN id_blocks b ON b.block = r.n / 50""";
+
+    private final ReferenceChecker referenceChecker;
+
+    ReviewImport(DataSource dataSource, ObjectMapper objectMapper, ImportJob job, int chunkSize,
+                 ReferenceChecker referenceChecker) throws SQLException, IOException {
+        super(dataSource, objectMapper, job, chunkSize);
+        this.referenceChecker = referenceChecker;
+    }
+
+    @Override
+    protected String stagingTableDdl() {
+        return STAGING_TABLE_DDL;
+    }
+
+    @Override
+    protected String copySql() {
+        return COPY_SQL;
+    }
+
+    @Override
+    protected Object[] toStagingValues(long rowNumber, ReviewImportRow row) {
+        // Same constraints as the create endpoint
+        CreateReviewDto review = new CreateReviewDto(row.text(), row.rating(), row.movieId(), row.userId());
+        return new Object[] {
+                rowNumber, row.id(), review.text(), review.rating(), review.movieId(), review.userId()
+        };
+    }
+
+    @Override
+    protected void mergeChunk(Connection connection) throws SQLException, IOException {
+        rejectUnknownReferences(connection);
+        try (Statement statement = connection.createStatement();
+             ResultSet unknown = statement.executeQuery(UNKNOWN_IDS_SQL)) {
+            while (unknown.next()) {
+                rejectRow(unknown.getLong(1), "Review not found with id: " + unknown.getLong(2));
+            }
+        }
+
+        // Timestamps are local server time, as the entity's @PrePersist/@PreUpdate set them
+        LocalDateTime now = LocalDateTime.now();
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(SUBTRACT_REPLACED_RATINGS_SQL);
+        }
+        int updated;
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            update.setObject(1, now);
+            updated = update.executeUpdate();
+        }
+        int inserted;
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_SQL)) {
+            insert.setObject(1, now);
+            insert.setObject(2, now);
+            inserted = insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(ADD_MERGED_RATINGS_SQL);
+        }
+        job().chunkMerged(inserted, updated);
+    }
+
+    private void rejectUnknownReferences(Connection connection) throws SQLException, IOException {
+        List<Long> unknownMovieIds = distinctValues(connection, "movie_id");
+        unknownMovieIds.removeAll(referenceChecker.existingMovieIds(unknownMovieIds));
+        List<Long> unknownUserIds = distinctValues(connection, "user_id");
+        unknownUserIds.removeAll(referenceChecker.existingUserIds(unknownUserIds));
+        if (unknownMovieIds.isEmpty() && unknownUserIds.isEmpty()) {
+            return;
+        }
+
+        Set<Long> unknownMovies = Set.copyOf(unknownMovieIds);
+        try (PreparedStatement delete = connection.prepareStatement(DELETE_UNKNOWN_REFERENCES_SQL)) {
+            delete.setArray(1, connection.createArrayOf("bigint", unknownMovieIds.toArray()));
+            delete.setArray(2, connection.createArrayOf("bigint", unknownUserIds.toArray()));
+            try (ResultSet removed = delete.executeQuery()) {
+                while (removed.next()) {
+                    long movieId = removed.getLong(2);
+                    rejectRow(removed.getLong(1), unknownMovies.contains(movieId)
+                            ? "Movie not found with id: " + movieId
+                            : "User not found with id: " + removed.getLong(3));
+                }
+            }
+        }
+    }
+
+    private static List<Long> distinctValues(Connection connection, String column) throws SQLException {
+        List<Long> values = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT DISTINCT " + column + " FROM review_import_staging")) {
+            while (rows.next()) {
+                values.add(rows.getLong(1));
+            }
+        }
+        return values;
+    }
+}
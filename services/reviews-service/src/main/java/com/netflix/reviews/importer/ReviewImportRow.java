@@ -0,0 +1,14 @@
+package com.netflix.reviews.importer;
+
+/**
+ * One record of a review feed. Rows with an id update that review, rows
+ * without one create a new review.
+ */
+public record ReviewImportRow(
+        Long id,
+        String text,
+        Integer rating,
+        Long movieId,
+        Long userId
+) {
+}
@@ -0,0 +1,87 @@
+package com.netflix.reviews.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.netflix.common.importer.FeedReader;
+import com.netflix.common.importer.ImportFormat;
+import com.netflix.common.importer.ImportJob;
+import com.netflix.common.importer.ImportJobs;
+import com.netflix.common.importer.ImportReport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * Runs review feed imports in the background. Feeds are read from the
+ * configured import directory.
+ */
+@Slf4j
+@Service
+public class ReviewImportService {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskExecutor taskExecutor;
+
+    @Autowired
+    private ReferenceChecker referenceChecker;
+
+    @Value("${reviews.import.directory}")
+    private Path importDirectory;
+
+    @Value("${reviews.import.chunk-size}")
+    private int chunkSize;
+
+    private final ImportJobs jobs = new ImportJobs();
+
+    public ImportReport start(String fileName) {
+        Path file = resolveFeed(fileName);
+        // Fails fast on unsupported file types instead of in the background job
+        ImportFormat.of(file);
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), file,
+                file.resolveSibling(file.getFileName() + ".rejected.ndjson"));
+        jobs.add(job);
+        taskExecutor.execute(() -> run(job, file));
+        return job.report();
+    }
+
+    public ImportReport findById(String id) {
+        return jobs.find(id)
+                .map(ImportJob::report)
+                .orElseThrow(() -> new IllegalArgumentException("Import not found with id: " + id));
+    }
+
+    private void run(ImportJob job, Path file) {
+        try (ReviewImport reviewImport = new ReviewImport(dataSource, objectMapper, job, chunkSize,
+                referenceChecker)) {
+            reviewImport.start();
+            new FeedReader<>(objectMapper, ReviewImportRow.class).read(file, reviewImport);
+            reviewImport.finish();
+            job.complete();
+        } catch (Exception e) {
+            log.error("Import {} of {} failed", job.id(), file, e);
+            job.fail(e.getMessage());
+        }
+    }
+
+    private Path resolveFeed(String fileName) {
+        Path directory = importDirectory.toAbsolutePath().normalize();
+        Path file = directory.resolve(fileName).normalize();
+        if (!file.startsWith(directory) || !Files.isRegularFile(file)) {
+            throw new IllegalArgumentException("Import file not found: " + fileName);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,32 @@
+package com.netflix.reviews.repository;
+
+import com.netflix.reviews.entity.MovieRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MovieRatingStatsRepository extends JpaRepository<MovieRatingStats, Long> {
+
+    // Movies whose reviews have all been deleted keep a zero row, which reads as no reviews
+    @Query("SELECT s FROM MovieRatingStats s WHERE s.movieId IN :movieIds AND s.reviewCount > 0")
+    List<MovieRatingStats> findByMovieIdIn(@Param("movieIds") Collection<Long> movieIds);
+
+    /**
+     * Adds {@code delta} reviews with the given rating (use -1 to remove one) in a
+     * single atomic upsert, so concurrent review writes never lose an update.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO movie_rating_stats (movie_id, review_count, rating_sum) "
+            + "VALUES (:movieId, :delta, :delta * :rating) "
+            + "ON CONFLICT (movie_id) DO UPDATE SET "
+            + "review_count = movie_rating_stats.review_count + EXCLUDED.review_count, "
+            + "rating_sum = movie_rating_stats.rating_sum + EXCLUDED.rating_sum",
+            nativeQuery = true)
+    void applyRating(@Param("movieId") Long movieId, @Param("rating") int rating, @Param("delta") int delta);
+}
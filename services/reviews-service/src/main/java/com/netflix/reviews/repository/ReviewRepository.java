@@ -0,0 +1,66 @@
+package com.netflix.reviews.repository;
+
+import com.netflix.reviews.entity.Review;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    // Held until commit, so concurrent writes to one review apply their rating deltas one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :id")
+    Optional<Review> findForUpdateById(@Param("id") Long id);
+
+    // Keyset pagination: seeks past the last seen id and reads at most one page
+    @Query("SELECT r FROM Review r WHERE r.id > :afterId ORDER BY r.id")
+    List<Review> findPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Newest first, seeks past (createdAt, id) of the last row; walks idx_reviews_movie_id_created_at backwards
+    @Query("SELECT r FROM Review r WHERE r.movieId = :movieId " +
+           "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findByMovieId(@Param("movieId") Long movieId,
+                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                               @Param("afterId") Long afterId,
+                               Pageable pageable);
+
+    @Query("SELECT r FROM Review r WHERE r.userId = :userId " +
+           "AND (r.createdAt < :afterCreatedAt OR (r.createdAt = :afterCreatedAt AND r.id < :afterId)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Review> findByUserId(@Param("userId") Long userId,
+                              @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    // The newest perKey reviews of each movie, grouped by movie
+    @Query(value = """
+            SELECT id, text, rating, movie_id, user_id, created_at, updated_at
+            FROM (SELECT r.*, row_number() OVER (PARTITION BY r.movie_id ORDER BY r.created_at DESC, r.id DESC) AS n
+                  FROM reviews r
+                  WHERE r.movie_id IN (:movieIds)) ranked
+            WHERE n <= :perKey
+            ORDER BY movie_id, created_at DESC, id DESC
+            """, nativeQuery = true)
+    List<Review> findByMovieIdIn(@Param("movieIds") Collection<Long> movieIds, @Param("perKey") int perKey);
+
+    @Query(value = """
+            SELECT id, text, rating, movie_id, user_id, created_at, updated_at
+            FROM (SELECT r.*, row_number() OVER (PARTITION BY r.user_id ORDER BY r.created_at DESC, r.id DESC) AS n
+                  FROM reviews r
+                  WHERE r.user_id IN (:userIds)) ranked
+            WHERE n <= :perKey
+            ORDER BY user_id, created_at DESC, id DESC
+            """, nativeQuery = true)
+    List<Review> findByUserIdIn(@Param("userIds") Collection<Long> userIds, @Param("perKey") int perKey);
+}
@@ -0,0 +1,37 @@
+package com.netflix.reviews.service;
+
+import com.netflix.reviews.common.CursorPage;
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.ReviewDto;
+
+import java.util.List;
+
+public interface ReviewService {
+
+    CursorPage<ReviewDto> findAll(String after, Integer limit);
+
+    ReviewDto findById(Long id);
+
+    List<ReviewDto> findByIds(List<Long> ids);
+
+    CursorPage<ReviewDto> findByMovieId(Long movieId, String after, Integer limit);
+
+    CursorPage<ReviewDto> findByUserId(Long userId, String after, Integer limit);
+
+    /**
+     * The newest {@code limit} reviews (default and maximum as for pages) of each
+     * movie, grouped by movie.
+     */
+    List<ReviewDto> findByMovieIds(List<Long> movieIds, Integer limit);
+
+    List<ReviewDto> findByUserIds(List<Long> userIds, Integer limit);
+
+    List<MovieRatingDto> findRatingsByMovieIds(List<Long> movieIds);
+
+    ReviewDto create(CreateReviewDto createReviewDto);
+
+    ReviewDto update(Long id, CreateReviewDto updateReviewDto);
+
+    void deleteById(Long id);
+}
@@ -0,0 +1,200 @@
+package com.netflix.reviews.service;
+
+import com.netflix.reviews.common.CursorPage;
+import com.netflix.reviews.common.ReviewCursor;
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.entity.Review;
+import com.netflix.reviews.repository.MovieRatingStatsRepository;
+import com.netflix.reviews.entity.MovieRatingStats;
+import com.netflix.reviews.repository.ReviewRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Every review write also applies its rating delta to the movie's
+ * {@link MovieRatingStats} in the same transaction.
+ */
+// One timer per method, tagged class and method
+@Observed(name = "reviews.service")
+@Service
+@Transactional
+public class ReviewServiceImpl implements ReviewService {
+
+    // Keeps each IN (...) list well below the PostgreSQL bind parameter limit
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> findAll(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        // Reads one row beyond the page so hasNextPage needs no count query
+        List<ReviewDto> reviews = reviewRepository.findPage(CursorPage.decodeCursor(after), PageRequest.ofSize(pageSize + 1))
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        return CursorPage.of(reviews, pageSize, ReviewDto::id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewDto findById(Long id) {
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with id: " + id));
+        return convertToDto(review);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> findByIds(List<Long> ids) {
+        Map<Long, ReviewDto> reviewsById = new HashMap<>();
+        findInChunks(ids, reviewRepository::findAllById, this::convertToDto)
+                .forEach(review -> reviewsById.put(review.id(), review));
+
+        // Preserve request order; ids that do not exist map to null
+        return ids.stream()
+                .map(id -> id != null ? reviewsById.get(id) : null)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> findByMovieId(Long movieId, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        ReviewCursor cursor = ReviewCursor.decode(after);
+        return toFeedPage(reviewRepository.findByMovieId(movieId, cursor.createdAt(), cursor.id(),
+                PageRequest.ofSize(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> findByUserId(Long userId, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        ReviewCursor cursor = ReviewCursor.decode(after);
+        return toFeedPage(reviewRepository.findByUserId(userId, cursor.createdAt(), cursor.id(),
+                PageRequest.ofSize(pageSize + 1)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> findByMovieIds(List<Long> movieIds, Integer limit) {
+        int perMovie = CursorPage.normalizeLimit(limit);
+        return findInChunks(movieIds, chunk -> reviewRepository.findByMovieIdIn(chunk, perMovie), this::convertToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewDto> findByUserIds(List<Long> userIds, Integer limit) {
+        int perUser = CursorPage.normalizeLimit(limit);
+        return findInChunks(userIds, chunk -> reviewRepository.findByUserIdIn(chunk, perUser), this::convertToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MovieRatingDto> findRatingsByMovieIds(List<Long> movieIds) {
+        return findInChunks(movieIds, movieRatingStatsRepository::findByMovieIdIn, this::convertToDto);
+    }
+
+    @Override
+    public ReviewDto create(CreateReviewDto createReviewDto) {
+        Review review = convertToEntity(createReviewDto);
+        Review savedReview = reviewRepository.save(review);
+        movieRatingStatsRepository.applyRating(savedReview.getMovieId(), savedReview.getRating(), 1);
+        return convertToDto(savedReview);
+    }
+
+    @Override
+    public ReviewDto update(Long id, CreateReviewDto updateReviewDto) {
+        Review existingReview = reviewRepository.findForUpdateById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with id: " + id));
+        Long previousMovieId = existingReview.getMovieId();
+        int previousRating = existingReview.getRating();
+
+        existingReview.setText(updateReviewDto.text());
+        existingReview.setRating(updateReviewDto.rating());
+        existingReview.setMovieId(updateReviewDto.movieId());
+        existingReview.setUserId(updateReviewDto.userId());
+
+        Review updatedReview = reviewRepository.save(existingReview);
+        if (!previousMovieId.equals(updatedReview.getMovieId()) || previousRating != updatedReview.getRating()) {
+            movieRatingStatsRepository.applyRating(previousMovieId, previousRating, -1);
+            movieRatingStatsRepository.applyRating(updatedReview.getMovieId(), updatedReview.getRating(), 1);
+        }
+        return convertToDto(updatedReview);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Review review = reviewRepository.findForUpdateById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with id: " + id));
+        movieRatingStatsRepository.applyRating(review.getMovieId(), review.getRating(), -1);
+        reviewRepository.delete(review);
+    }
+
+    private CursorPage<ReviewDto> toFeedPage(List<Review> rows, int pageSize) {
+        boolean hasNextPage = rows.size() > pageSize;
+        List<ReviewDto> reviews = (hasNextPage ? rows.subList(0, pageSize) : rows).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        String endCursor = reviews.isEmpty() ? null : ReviewCursor.of(reviews.get(reviews.size() - 1)).encode();
+        return new CursorPage<>(reviews, endCursor, hasNextPage);
+    }
+
+    private <T, R> List<R> findInChunks(List<Long> ids, Function<Collection<Long>, List<T>> lookup, Function<T, R> mapper) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<R> results = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            lookup.apply(chunk).forEach(row -> results.add(mapper.apply(row)));
+        }
+        return results;
+    }
+
+    private ReviewDto convertToDto(Review review) {
+        return new ReviewDto(
+                review.getId(),
+                review.getText(),
+                review.getRating(),
+                review.getMovieId(),
+                review.getUserId(),
+                review.getCreatedAt(),
+                review.getUpdatedAt()
+        );
+    }
+
+    private MovieRatingDto convertToDto(MovieRatingStats stats) {
+        return new MovieRatingDto(stats.getMovieId(), stats.averageRating(), stats.getReviewCount());
+    }
+
+    private Review convertToEntity(CreateReviewDto dto) {
+        Review review = new Review();
+        review.setText(dto.text());
+        review.setRating(dto.rating());
+        review.setMovieId(dto.movieId());
+        review.setUserId(dto.userId());
+        return review;
+    }
+}
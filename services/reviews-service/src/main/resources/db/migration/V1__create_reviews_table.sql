@@ -0,0 +1,11 @@
+-- Baseline schema, matches what Hibernate previously generated from the Review entity.
+-- Existing databases are baselined at this version and skip it.
+CREATE TABLE IF NOT EXISTS reviews (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    text       VARCHAR(1000),
+    rating     INTEGER      NOT NULL,
+    movie_id   BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
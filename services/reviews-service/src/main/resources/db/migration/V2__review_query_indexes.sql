@@ -0,0 +1,4 @@
+-- Per-movie and per-user review feeds, newest first.
+-- id is the keyset tie-breaker for equal created_at values, so it is part of the index order.
+CREATE INDEX IF NOT EXISTS idx_reviews_movie_id_created_at ON reviews (movie_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_reviews_user_id_created_at ON reviews (user_id, created_at, id);
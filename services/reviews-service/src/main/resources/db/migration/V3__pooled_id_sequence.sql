@@ -0,0 +1,2 @@
+-- Review ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts
+ALTER TABLE reviews ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,7 @@
+-- Hibernate's schema validation looks sequences up in information_schema.sequences, which does not
+-- list identity sequences. Replace the identity with a plain sequence of the same name and step;
+-- plain SQL inserts keep drawing ids from it through the column default.
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS reviews_id_seq INCREMENT BY 50 OWNED BY reviews.id;
+SELECT setval('reviews_id_seq', (SELECT coalesce(max(id), 0) + 50 FROM reviews));
+ALTER TABLE reviews ALTER COLUMN id SET DEFAULT nextval('reviews_id_seq');
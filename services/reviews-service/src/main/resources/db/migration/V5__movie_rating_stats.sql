@@ -0,0 +1,11 @@
+-- Per-movie rating aggregates, maintained by every review write so that averageRating and
+-- reviewCount are one primary key lookup per movie instead of a scan of its reviews.
+CREATE TABLE IF NOT EXISTS movie_rating_stats (
+    movie_id     BIGINT PRIMARY KEY,
+    review_count BIGINT NOT NULL,
+    rating_sum   BIGINT NOT NULL
+);
+
+INSERT INTO movie_rating_stats (movie_id, review_count, rating_sum)
+SELECT movie_id, count(*), sum(rating) FROM reviews GROUP BY movie_id
+ON CONFLICT (movie_id) DO NOTHING;
@@ -0,0 +1,175 @@
+package com.netflix.reviews.importer;
+
+import com.netflix.common.importer.ImportJob;
+import com.netflix.common.importer.ImportReport;
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.ReviewDto;
+import com.netflix.reviews.service.ReviewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * Review feeds load through COPY and the staging table; rows referring to
+ * movies or users that do not exist are rejected one by one.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReviewImportTest {
+
+    private static final long MOVIE = 7;
+    private static final long OTHER_MOVIE = 8;
+    private static final long USER = 11;
+    private static final long OTHER_USER = 12;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @TempDir
+    static Path importDirectory;
+
+    @DynamicPropertySource
+    static void importProperties(DynamicPropertyRegistry registry) {
+        registry.add("reviews.import.directory", () -> importDirectory.toString());
+        registry.add("reviews.import.chunk-size", () -> 2);
+    }
+
+    // Stands in for movies-service and users-service
+    @MockBean
+    private ReferenceChecker referenceChecker;
+
+    @Autowired
+    private ReviewImportService reviewImportService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @BeforeEach
+    void knownReferences() {
+        when(referenceChecker.existingMovieIds(anyCollection()))
+                .thenAnswer(invocation -> retain(invocation.getArgument(0), Set.of(MOVIE, OTHER_MOVIE)));
+        when(referenceChecker.existingUserIds(anyCollection()))
+                .thenAnswer(invocation -> retain(invocation.getArgument(0), Set.of(USER, OTHER_USER)));
+    }
+
+    @Test
+    void rejectsRowsWithUnknownMoviesOrUsers() throws Exception {
+        ImportReport report = runImport("references.csv", """
+                text,rating,movieId,userId
+                first,5,%1$d,%3$d
+                unknown movie,4,404,%3$d
+                unknown user,3,%1$d,404
+                second,2,%2$d,%3$d
+                bad rating,9,%1$d,%3$d
+                """.formatted(MOVIE, OTHER_MOVIE, USER));
+
+        assertThat(report.status()).isEqualTo(ImportJob.Status.COMPLETED);
+        assertThat(report.rowsRead()).isEqualTo(5);
+        assertThat(report.inserted()).isEqualTo(2);
+        assertThat(report.rejectedRows()).containsExactly(
+                new ImportReport.RejectedRow(2, "Movie not found with id: 404"),
+                new ImportReport.RejectedRow(3, "User not found with id: 404"),
+                new ImportReport.RejectedRow(5, "Rating must be between 1 and 5"));
+        assertThat(reviewService.findByUserId(USER, null, 10).items())
+                .extracting(ReviewDto::text)
+                .containsExactlyInAnyOrder("first", "second");
+    }
+
+    @Test
+    void updatesReviewsByIdAndRejectsUnknownIds() throws Exception {
+        ReviewDto existing = reviewService.create(new CreateReviewDto("draft", 1, MOVIE, OTHER_USER));
+
+        ImportReport report = runImport("updates.ndjson", """
+                {"id": %d, "text": "final", "rating": 4, "movieId": %d, "userId": %d}
+                {"id": 999999999, "text": "lost", "rating": 4, "movieId": %d, "userId": %d}
+                """.formatted(existing.id(), MOVIE, OTHER_USER, MOVIE, OTHER_USER));
+
+        assertThat(report.updated()).isEqualTo(1);
+        assertThat(report.inserted()).isZero();
+        assertThat(report.rejectedRows()).containsExactly(
+                new ImportReport.RejectedRow(2, "Review not found with id: 999999999"));
+        ReviewDto updated = reviewService.findById(existing.id());
+        assertThat(updated.text()).isEqualTo("final");
+        assertThat(updated.rating()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsTheRatingAggregatesInStep() throws Exception {
+        ReviewDto existing = reviewService.create(new CreateReviewDto("draft", 1, MOVIE, USER));
+        Map<Long, MovieRatingDto> before = ratings();
+
+        // Moves the existing review to the other movie and adds two more there
+        runImport("ratings.csv", """
+                id,text,rating,movieId,userId
+                %d,moved,4,%d,%d
+                ,new,2,%2$d,%3$d
+                ,newer,3,%2$d,%3$d
+                """.formatted(existing.id(), OTHER_MOVIE, USER));
+
+        Map<Long, MovieRatingDto> after = ratings();
+        assertThat(reviewCount(after, MOVIE)).isEqualTo(reviewCount(before, MOVIE) - 1);
+        assertThat(ratingSum(after, MOVIE)).isEqualTo(ratingSum(before, MOVIE) - 1);
+        assertThat(reviewCount(after, OTHER_MOVIE)).isEqualTo(reviewCount(before, OTHER_MOVIE) + 3);
+        assertThat(ratingSum(after, OTHER_MOVIE)).isEqualTo(ratingSum(before, OTHER_MOVIE) + 9);
+    }
+
+    private Map<Long, MovieRatingDto> ratings() {
+        return reviewService.findRatingsByMovieIds(List.of(MOVIE, OTHER_MOVIE)).stream()
+                .collect(Collectors.toMap(MovieRatingDto::movieId, Function.identity()));
+    }
+
+    private static long reviewCount(Map<Long, MovieRatingDto> ratings, long movieId) {
+        MovieRatingDto rating = ratings.get(movieId);
+        return rating != null ? rating.reviewCount() : 0;
+    }
+
+    private static long ratingSum(Map<Long, MovieRatingDto> ratings, long movieId) {
+        MovieRatingDto rating = ratings.get(movieId);
+        return rating != null ? Math.round(rating.averageRating() * rating.reviewCount()) : 0;
+    }
+
+    private ImportReport runImport(String fileName, String content) throws IOException, InterruptedException {
+        Files.writeString(importDirectory.resolve(fileName), content);
+        String id = reviewImportService.start(fileName).id();
+        for (int attempt = 0; attempt < 300; attempt++) {
+            ImportReport report = reviewImportService.findById(id);
+            if (report.status() != ImportJob.Status.RUNNING) {
+                return report;
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Import " + id + " did not finish");
+    }
+
+    private static Set<Long> retain(Collection<Long> ids, Set<Long> existing) {
+        Set<Long> found = new HashSet<>(ids);
+        found.retainAll(existing);
+        return found;
+    }
+}
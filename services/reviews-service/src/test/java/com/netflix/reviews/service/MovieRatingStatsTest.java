@@ -0,0 +1,73 @@
+package com.netflix.reviews.service;
+
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.MovieRatingDto;
+import com.netflix.reviews.dto.ReviewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * averageRating and reviewCount come from movie_rating_stats, which every
+ * create, update and delete keeps in step with the reviews.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class MovieRatingStatsTest {
+
+    private static final long USER = 11;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    void createAndDeleteAdjustTheAggregates() {
+        long movie = 101;
+        reviewService.create(new CreateReviewDto("great", 5, movie, USER));
+        ReviewDto second = reviewService.create(new CreateReviewDto("fine", 2, movie, USER));
+
+        assertThat(ratings(movie)).containsExactly(new MovieRatingDto(movie, 3.5, 2));
+
+        reviewService.deleteById(second.id());
+
+        assertThat(ratings(movie)).containsExactly(new MovieRatingDto(movie, 5.0, 1));
+    }
+
+    @Test
+    void updateMovesTheRatingBetweenMovies() {
+        long movie = 102;
+        long otherMovie = 103;
+        ReviewDto review = reviewService.create(new CreateReviewDto("ok", 3, movie, USER));
+        reviewService.create(new CreateReviewDto("good", 4, otherMovie, USER));
+
+        reviewService.update(review.id(), new CreateReviewDto("better", 5, otherMovie, USER));
+
+        assertThat(ratings(movie, otherMovie)).containsExactly(new MovieRatingDto(otherMovie, 4.5, 2));
+    }
+
+    @Test
+    void moviesWhoseReviewsAreAllDeletedHaveNoRating() {
+        long movie = 104;
+        ReviewDto review = reviewService.create(new CreateReviewDto("meh", 1, movie, USER));
+
+        reviewService.deleteById(review.id());
+
+        assertThat(ratings(movie)).isEmpty();
+    }
+
+    private List<MovieRatingDto> ratings(Long... movieIds) {
+        return reviewService.findRatingsByMovieIds(List.of(movieIds));
+    }
+}
@@ -0,0 +1,76 @@
+package com.netflix.reviews.service;
+
+import com.netflix.reviews.dto.CreateReviewDto;
+import com.netflix.reviews.dto.ReviewDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Batch lookups return at most the requested number of reviews per movie or
+ * user, the newest ones, however many reviews each key has.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class ReviewBatchLookupTest {
+
+    private static final long USER = 21;
+    private static final long OTHER_USER = 22;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Test
+    void limitsEachMovieToItsNewestReviews() {
+        long movie = 201;
+        long otherMovie = 202;
+        ReviewDto oldest = review(movie, USER);
+        ReviewDto middle = review(movie, USER);
+        ReviewDto newest = review(movie, USER);
+        ReviewDto only = review(otherMovie, USER);
+
+        assertThat(reviewService.findByMovieIds(List.of(movie, otherMovie), 2))
+                .extracting(ReviewDto::id)
+                .containsExactly(newest.id(), middle.id(), only.id());
+        assertThat(reviewService.findByMovieIds(List.of(movie), null))
+                .extracting(ReviewDto::id)
+                .containsExactly(newest.id(), middle.id(), oldest.id());
+    }
+
+    @Test
+    void limitsEachUserToTheirNewestReviews() {
+        long movie = 203;
+        review(movie, USER);
+        ReviewDto newest = review(movie, USER);
+        ReviewDto other = review(movie, OTHER_USER);
+
+        assertThat(reviewService.findByUserIds(List.of(USER, OTHER_USER), 1))
+                .extracting(ReviewDto::id)
+                .containsExactly(newest.id(), other.id());
+    }
+
+    @Test
+    void rejectsLimitsOutsideThePageBounds() {
+        assertThatThrownBy(() -> reviewService.findByMovieIds(List.of(1L), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> reviewService.findByMovieIds(List.of(1L), 101))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ReviewDto review(long movieId, long userId) {
+        return reviewService.create(new CreateReviewDto("review", 4, movieId, userId));
+    }
+}
@@ -0,0 +1,26 @@
+package com.netflix.common.batch;
+
+import java.util.List;
+
+/**
+ * Checks the id lists of batch lookups, over REST and GraphQL, before they
+ * reach the database.
+ */
+public final class BatchIds {
+
+    // Callers with more ids split them; the reviews import checks references 500 at a time
+    public static final int MAX_IDS = 1000;
+
+    private BatchIds() {
+    }
+
+    public static <T> List<T> check(List<T> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("A list of ids is required");
+        }
+        if (ids.size() > MAX_IDS) {
+            throw new IllegalArgumentException("Batch lookups accept at most " + MAX_IDS + " ids");
+        }
+        return ids;
+    }
+}
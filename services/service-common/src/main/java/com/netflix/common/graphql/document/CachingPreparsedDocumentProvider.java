@@ -0,0 +1,47 @@
+package com.netflix.common.graphql.document;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Keeps parsed and validated documents by query text, so repeated operations
+ * skip parsing and validation. Validation does not depend on variables, so the
+ * query text alone is the key.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+
+    public CachingPreparsedDocumentProvider(long maximumSize) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return CompletableFuture.completedFuture(
+                documents.get(executionInput.getQuery(), query -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    // graphql-java only calls getDocumentAsync. This one is still abstract in graphql-java 21, the version
+    // Spring Boot 3.2 manages, and goes away with the upgrade to 22, where it has a default.
+    @Override
+    @Deprecated
+    public PreparsedDocumentEntry getDocument(
+            ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    public Cache<String, PreparsedDocumentEntry> cache() {
+        return documents;
+    }
+}
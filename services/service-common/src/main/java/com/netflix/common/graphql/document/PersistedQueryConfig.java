@@ -0,0 +1,49 @@
+package com.netflix.common.graphql.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Parsed-document cache and automatic persisted queries on the GraphQL endpoint, the
+ * same in every service. Imported by each service's GraphQL configuration.
+ */
+@Configuration
+public class PersistedQueryConfig {
+
+    @Bean
+    public CachingPreparsedDocumentProvider preparsedDocumentProvider(
+            @Value("${graphql.documents.cache-size}") long cacheSize, MeterRegistry meterRegistry) {
+        CachingPreparsedDocumentProvider provider = new CachingPreparsedDocumentProvider(cacheSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, provider.cache(), "graphql.documents");
+        return provider;
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(CachingPreparsedDocumentProvider provider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+    }
+
+    @Bean
+    public PersistedQueryRegistry persistedQueryRegistry(
+            @Value("${graphql.persisted-queries.cache-size}") long cacheSize, MeterRegistry meterRegistry) {
+        PersistedQueryRegistry registry = new PersistedQueryRegistry(cacheSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, registry.cache(), "graphql.persisted-queries");
+        return registry;
+    }
+
+    @Bean
+    public FilterRegistrationBean<PersistedQueryFilter> persistedQueryFilter(
+            PersistedQueryRegistry registry, ObjectMapper objectMapper,
+            @Value("${spring.graphql.path:/graphql}") String graphQlPath) {
+        FilterRegistrationBean<PersistedQueryFilter> registration =
+                new FilterRegistrationBean<>(new PersistedQueryFilter(registry, objectMapper));
+        registration.addUrlPatterns(graphQlPath);
+        return registration;
+    }
+}
@@ -0,0 +1,166 @@
+package com.netflix.common.graphql.document;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Apollo-style automatic persisted queries on the GraphQL endpoint. A request
+ * carrying {@code extensions.persistedQuery.sha256Hash} without a query is
+ * resolved from the {@link PersistedQueryRegistry}; an unknown hash answers
+ * {@code PERSISTED_QUERY_NOT_FOUND}, and the client retries with hash and
+ * query, which registers the document.
+ */
+public class PersistedQueryFilter extends OncePerRequestFilter {
+
+    private static final TypeReference<Map<String, Object>> REQUEST_BODY = new TypeReference<>() {};
+
+    private final PersistedQueryRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    public PersistedQueryFilter(PersistedQueryRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        Map<String, Object> graphQlRequest;
+        try {
+            graphQlRequest = objectMapper.readValue(body, REQUEST_BODY);
+        } catch (IOException e) {
+            // Malformed requests are reported by the GraphQL handler
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String hash = persistedQueryHash(graphQlRequest);
+        if (hash == null) {
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        if (graphQlRequest.get("query") instanceof String query && !query.isBlank()) {
+            if (!registry.register(hash, query)) {
+                writeError(response, HttpServletResponse.SC_BAD_REQUEST,
+                        "provided sha does not match query", "PERSISTED_QUERY_HASH_MISMATCH");
+                return;
+            }
+            chain.doFilter(new CachedBodyRequest(request, body), response);
+            return;
+        }
+
+        String query = registry.find(hash);
+        if (query == null) {
+            writeError(response, HttpServletResponse.SC_OK, "PersistedQueryNotFound", "PERSISTED_QUERY_NOT_FOUND");
+            return;
+        }
+        graphQlRequest.put("query", query);
+        chain.doFilter(new CachedBodyRequest(request, objectMapper.writeValueAsBytes(graphQlRequest)), response);
+    }
+
+    private String persistedQueryHash(Map<String, Object> graphQlRequest) {
+        if (graphQlRequest.get("extensions") instanceof Map<?, ?> extensions
+                && extensions.get("persistedQuery") instanceof Map<?, ?> persistedQuery
+                && persistedQuery.get("sha256Hash") instanceof String hash
+                && !hash.isBlank()) {
+            return hash;
+        }
+        return null;
+    }
+
+    private void writeError(HttpServletResponse response, int status, String message, String code) throws IOException {
+        Map<String, Object> error = Map.of("message", message, "extensions", Map.of("code", code));
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_GRAPHQL_RESPONSE_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("errors", List.of(error)));
+    }
+
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The body is already in memory, so it is all available at once
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.netflix.common.graphql.document;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Automatic persisted queries: maps the sha256 hash of a query document to the
+ * document, so clients can send the hash instead of the full query.
+ */
+public class PersistedQueryRegistry {
+
+    private final Cache<String, String> documents;
+
+    public PersistedQueryRegistry(long maximumSize) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+    }
+
+    public String find(String sha256Hash) {
+        return documents.getIfPresent(sha256Hash.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Registers a document under its hash. Returns false when the hash does not
+     * belong to the document.
+     */
+    public boolean register(String sha256Hash, String query) {
+        String hash = sha256Hash.toLowerCase(Locale.ROOT);
+        if (!hash.equals(sha256Hex(query))) {
+            return false;
+        }
+        documents.put(hash, query);
+        return true;
+    }
+
+    public Cache<String, String> cache() {
+        return documents;
+    }
+
+    private static String sha256Hex(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.netflix.common.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Reads a CSV (with header row) or NDJSON feed one record at a time, so memory
+ * use does not depend on the file size. Records that cannot be parsed are
+ * rejected and reading continues with the next one.
+ */
+public class FeedReader<T> {
+
+    public interface RowHandler<T> {
+
+        void accept(long rowNumber, T row) throws IOException, SQLException;
+
+        void reject(long rowNumber, String reason) throws IOException, SQLException;
+    }
+
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+
+    public FeedReader(ObjectMapper objectMapper, Class<T> rowType) {
+        this.jsonReader = objectMapper.readerFor(rowType);
+        CsvMapper csvMapper = CsvMapper.builder()
+                .findAndAddModules()
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build();
+        this.csvReader = csvMapper.readerFor(rowType).with(CsvSchema.emptySchema().withHeader());
+    }
+
+    public void read(Path file, RowHandler<T> handler) throws IOException, SQLException {
+        if (ImportFormat.of(file) == ImportFormat.CSV) {
+            readCsv(file, handler);
+        } else {
+            readNdjson(file, handler);
+        }
+    }
+
+    // Row numbers count data records, the header is not a row
+    private void readCsv(Path file, RowHandler<T> handler) throws IOException, SQLException {
+        try (MappingIterator<T> rows = csvReader.readValues(file.toFile())) {
+            long rowNumber = 0;
+            while (rows.hasNextValue()) {
+                rowNumber++;
+                T row;
+                try {
+                    row = rows.nextValue();
+                } catch (JsonProcessingException e) {
+                    // The iterator resynchronises on the next record
+                    handler.reject(rowNumber, e.getOriginalMessage());
+                    continue;
+                }
+                handler.accept(rowNumber, row);
+            }
+        }
+    }
+
+    // Row numbers are line numbers, blank lines are skipped
+    private void readNdjson(Path file, RowHandler<T> handler) throws IOException, SQLException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            long rowNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                rowNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                T row;
+                try {
+                    row = jsonReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    handler.reject(rowNumber, e.getOriginalMessage());
+                    continue;
+                }
+                handler.accept(rowNumber, row);
+            }
+        }
+    }
+}
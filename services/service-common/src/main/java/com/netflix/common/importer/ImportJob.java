@@ -0,0 +1,90 @@
+package com.netflix.common.importer;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one running or finished import, updated by the import thread and
+ * read by status requests. The report lists the first rejected rows; all of
+ * them are in the rejects file.
+ */
+public class ImportJob {
+
+    public enum Status { RUNNING, COMPLETED, FAILED }
+
+    private static final int REPORTED_REJECTIONS = 100;
+
+    private final String id;
+    private final Path file;
+    private final Path rejectsFile;
+    private final Instant startedAt = Instant.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final List<ImportReport.RejectedRow> rejectedRows = new ArrayList<>();
+
+    private volatile Status status = Status.RUNNING;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    public ImportJob(String id, Path file, Path rejectsFile) {
+        this.id = id;
+        this.file = file;
+        this.rejectsFile = rejectsFile;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public Path rejectsFile() {
+        return rejectsFile;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void rowRejected(long rowNumber, String reason) {
+        rejected.incrementAndGet();
+        synchronized (rejectedRows) {
+            if (rejectedRows.size() < REPORTED_REJECTIONS) {
+                rejectedRows.add(new ImportReport.RejectedRow(rowNumber, reason));
+            }
+        }
+    }
+
+    public void chunkMerged(long insertedRows, long updatedRows) {
+        inserted.addAndGet(insertedRows);
+        updated.addAndGet(updatedRows);
+    }
+
+    public void complete() {
+        finishedAt = Instant.now();
+        status = Status.COMPLETED;
+    }
+
+    public void fail(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status != Status.RUNNING;
+    }
+
+    public ImportReport report() {
+        List<ImportReport.RejectedRow> firstRejections;
+        synchronized (rejectedRows) {
+            firstRejections = List.copyOf(rejectedRows);
+        }
+        return new ImportReport(id, file.toString(), status, rowsRead.get(), inserted.get(), updated.get(),
+                rejected.get(), firstRejections, rejectsFile.toString(), startedAt, finishedAt, error);
+    }
+}
@@ -0,0 +1,35 @@
+package com.netflix.common.importer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The imports a service has started, by id. Running jobs are always kept; of
+ * the finished ones only the most recent are, so status can still be polled
+ * after a job ends without the map growing with every import.
+ */
+public class ImportJobs {
+
+    private static final int RETAINED_FINISHED_JOBS = 100;
+
+    // Start order, oldest first
+    private final Map<String, ImportJob> jobs = new LinkedHashMap<>();
+
+    public synchronized void add(ImportJob job) {
+        jobs.put(job.id(), job);
+        long finished = jobs.values().stream().filter(ImportJob::isFinished).count();
+        Iterator<ImportJob> oldestFirst = jobs.values().iterator();
+        while (finished > RETAINED_FINISHED_JOBS && oldestFirst.hasNext()) {
+            if (oldestFirst.next().isFinished()) {
+                oldestFirst.remove();
+                finished--;
+            }
+        }
+    }
+
+    public synchronized Optional<ImportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+}
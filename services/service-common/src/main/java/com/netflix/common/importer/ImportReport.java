@@ -0,0 +1,23 @@
+package com.netflix.common.importer;
+
+import java.time.Instant;
+import java.util.List;
+
+public record ImportReport(
+        String id,
+        String file,
+        ImportJob.Status status,
+        long rowsRead,
+        long inserted,
+        long updated,
+        long rejected,
+        List<RejectedRow> rejectedRows,
+        String rejectsFile,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+
+    public record RejectedRow(long row, String reason) {
+    }
+}
@@ -0,0 +1,200 @@
+package com.netflix.common.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Loads validated feed rows into a temporary staging table with
+ * {@code COPY FROM STDIN} and merges them into the target table in chunks.
+ * Each chunk is its own transaction, so a failure keeps the chunks already
+ * merged. Rejected rows are appended to the job's rejects file as NDJSON.
+ */
+@Slf4j
+public abstract class StagedImport<T> implements FeedReader.RowHandler<T>, AutoCloseable {
+
+    // Encoded rows are sent to the server whenever this much is buffered
+    private static final int COPY_BUFFER_CHARS = 64 * 1024;
+
+    private final ImportJob job;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final Connection connection;
+    private final CopyManager copyManager;
+    private final BufferedWriter rejects;
+    private final StringBuilder copyBuffer = new StringBuilder(COPY_BUFFER_CHARS + 1024);
+
+    private CopyIn copyIn;
+    private int stagedRows;
+
+    protected StagedImport(DataSource dataSource, ObjectMapper objectMapper, ImportJob job, int chunkSize)
+            throws SQLException, IOException {
+        this.job = job;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.connection = dataSource.getConnection();
+        try {
+            connection.setAutoCommit(false);
+            this.copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            this.rejects = Files.newBufferedWriter(job.rejectsFile(), StandardCharsets.UTF_8);
+        } catch (SQLException | IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * DDL of the temporary staging table. It must be created {@code ON COMMIT
+     * DELETE ROWS} so every chunk starts empty.
+     */
+    protected abstract String stagingTableDdl();
+
+    protected abstract String copySql();
+
+    /**
+     * Validates a row and returns the staging column values in {@link #copySql()}
+     * order. Throws {@link IllegalArgumentException} to reject the row.
+     */
+    protected abstract Object[] toStagingValues(long rowNumber, T row);
+
+    /**
+     * Merges the staged chunk into the target table and records the counts on
+     * the job. Runs inside the chunk's transaction.
+     */
+    protected abstract void mergeChunk(Connection connection) throws SQLException, IOException;
+
+    /**
+     * Called after each chunk is committed.
+     */
+    protected void chunkCommitted() {
+    }
+
+    public void start() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(stagingTableDdl());
+        }
+        connection.commit();
+    }
+
+    @Override
+    public void accept(long rowNumber, T row) throws IOException, SQLException {
+        job.rowRead();
+        Object[] values;
+        try {
+            values = toStagingValues(rowNumber, row);
+        } catch (IllegalArgumentException e) {
+            rejectRow(rowNumber, e.getMessage());
+            return;
+        }
+
+        if (copyIn == null) {
+            copyIn = copyManager.copyIn(copySql());
+        }
+        appendCsvRecord(values);
+        if (copyBuffer.length() >= COPY_BUFFER_CHARS) {
+            flushCopyBuffer();
+        }
+        if (++stagedRows == chunkSize) {
+            commitChunk();
+        }
+    }
+
+    @Override
+    public void reject(long rowNumber, String reason) throws IOException {
+        job.rowRead();
+        rejectRow(rowNumber, reason);
+    }
+
+    /**
+     * Merges the last partial chunk.
+     */
+    public void finish() throws IOException, SQLException {
+        if (stagedRows > 0) {
+            commitChunk();
+        }
+        rejects.flush();
+    }
+
+    protected void rejectRow(long rowNumber, String reason) throws IOException {
+        job.rowRejected(rowNumber, reason);
+        Map<String, Object> rejection = new LinkedHashMap<>();
+        rejection.put("row", rowNumber);
+        rejection.put("reason", reason);
+        rejects.write(objectMapper.writeValueAsString(rejection));
+        rejects.newLine();
+    }
+
+    protected ImportJob job() {
+        return job;
+    }
+
+    private void commitChunk() throws IOException, SQLException {
+        flushCopyBuffer();
+        copyIn.endCopy();
+        copyIn = null;
+        mergeChunk(connection);
+        connection.commit();
+        stagedRows = 0;
+        chunkCommitted();
+
+        ImportReport progress = job.report();
+        log.info("Import {}: {} rows read, {} inserted, {} updated, {} rejected", progress.id(),
+                progress.rowsRead(), progress.inserted(), progress.updated(), progress.rejected());
+    }
+
+    private void flushCopyBuffer() throws SQLException {
+        if (copyBuffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = copyBuffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        copyBuffer.setLength(0);
+    }
+
+    // COPY ... (FORMAT csv): unquoted empty is NULL, everything else is quoted
+    private void appendCsvRecord(Object[] values) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                copyBuffer.append(',');
+            }
+            if (values[i] != null) {
+                copyBuffer.append('"').append(values[i].toString().replace("\"", "\"\"")).append('"');
+            }
+        }
+        copyBuffer.append('\n');
+    }
+
+    @Override
+    public void close() throws SQLException, IOException {
+        try {
+            if (copyIn != null && copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+            connection.rollback();
+            // The connection goes back to the pool, so drop the staging table with it
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DISCARD TEMP");
+            }
+            connection.commit();
+        } finally {
+            try {
+                rejects.close();
+            } finally {
+                connection.close();
+            }
+        }
+    }
+}
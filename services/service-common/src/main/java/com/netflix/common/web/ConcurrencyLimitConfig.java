@@ -0,0 +1,30 @@
+package com.netflix.common.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Request concurrency limit, active when {@code server.concurrency.max-requests} is set
+ * (the virtual-threads profile sets it to the connection pool size). Imported by each
+ * service's application class.
+ */
+@Configuration
+@ConditionalOnProperty("server.concurrency.max-requests")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${server.concurrency.max-requests}") int maxRequests,
+            @Value("${server.concurrency.max-wait:30s}") Duration maxWait) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(maxRequests, maxWait));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,110 @@
+package com.netflix.common.graphql.document;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistedQueryFilterTest {
+
+    private static final String QUERY = "{ movies { id } }";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PersistedQueryRegistry registry = new PersistedQueryRegistry(100);
+    private final PersistedQueryFilter filter = new PersistedQueryFilter(registry, objectMapper);
+
+    @Test
+    void answersNotFoundForAnUnknownHash() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(Map.of("extensions", persistedQuery(sha256(QUERY)))), response, chain);
+
+        assertThat(chain.getRequest()).isNull();
+        assertThat(response.getContentAsString()).contains("PERSISTED_QUERY_NOT_FOUND");
+    }
+
+    @Test
+    void resolvesARegisteredHash() throws Exception {
+        filter.doFilter(request(Map.of("query", QUERY, "extensions", persistedQuery(sha256(QUERY)))),
+                new MockHttpServletResponse(), new MockFilterChain());
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(Map.of("extensions", persistedQuery(sha256(QUERY)))), new MockHttpServletResponse(), chain);
+
+        Map<?, ?> forwarded = objectMapper.readValue(chain.getRequest().getInputStream(), Map.class);
+        assertThat(forwarded.get("query")).isEqualTo(QUERY);
+    }
+
+    @Test
+    void rejectsAHashThatDoesNotMatchTheQuery() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request(Map.of("query", QUERY, "extensions", persistedQuery(sha256("{ other }")))),
+                response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(400);
+        assertThat(response.getContentAsString()).contains("PERSISTED_QUERY_HASH_MISMATCH");
+    }
+
+    @Test
+    void forwardedBodySupportsNonBlockingReads() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request(Map.of("query", QUERY)), new MockHttpServletResponse(), chain);
+
+        ServletRequest forwarded = chain.getRequest();
+        ServletInputStream input = forwarded.getInputStream();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        boolean[] allDataRead = {false};
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    body.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertThat(allDataRead[0]).isTrue();
+        assertThat(objectMapper.readValue(body.toByteArray(), Map.class).get("query")).isEqualTo(QUERY);
+    }
+
+    private MockHttpServletRequest request(Map<String, Object> body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.setContentType("application/json");
+        request.setContent(objectMapper.writeValueAsBytes(body));
+        return request;
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    private static String sha256(String query) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+    }
+}
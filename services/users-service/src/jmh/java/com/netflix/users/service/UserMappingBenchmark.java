@@ -0,0 +1,41 @@
+package com.netflix.users.service;
+
+import com.netflix.users.dto.UserDto;
+import com.netflix.users.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserMappingBenchmark {
+
+    private UserServiceImpl userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        // Mapping touches no collaborators, so the service needs no Spring context
+        userService = new UserServiceImpl();
+
+        user = new User();
+        user.setId(42L);
+        user.setUsername("johndoe");
+        user.setEmail("john@example.com");
+        user.setPassword("password123");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        user.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+    }
+
+    @Benchmark
+    public UserDto convertToDto() {
+        return userService.convertToDto(user);
+    }
+}
@@ -1,9 +1,14 @@
 package com.netflix.users;
 
+import com.netflix.common.web.ConcurrencyLimitConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import(ConcurrencyLimitConfig.class)
+@EnableScheduling
 public class UsersServiceApplication {
 
     public static void main(String[] args) {
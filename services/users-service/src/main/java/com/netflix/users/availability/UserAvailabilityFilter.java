@@ -0,0 +1,198 @@
+package com.netflix.users.availability;
+
+import com.netflix.users.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filters over the lower-cased usernames and emails of all users,
+ * in front of the availability lookups. A value the filter has never seen is
+ * definitely not taken and is answered without a query; only possible matches
+ * go to the database.
+ *
+ * <p>New usernames and emails are added before they are written, so the filter
+ * has no false negatives. Renamed and deleted users cannot be removed from a
+ * Bloom filter, so it is rebuilt from the database periodically. A rebuild only
+ * sees committed rows, so the values added since the previous rebuild began are
+ * applied to the new filters before they replace the current ones. Until the
+ * first build completes every check goes to the database. Answers are advisory:
+ * the unique indexes remain the authority when the user is written.
+ */
+@Slf4j
+@Component
+public class UserAvailabilityFilter {
+
+    public enum Field {
+        USERNAME, EMAIL
+    }
+
+    private record Filters(BloomFilter usernames, BloomFilter emails) {
+
+        BloomFilter get(Field field) {
+            return field == Field.USERNAME ? usernames : emails;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final MeterRegistry meterRegistry;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Timer rebuildTimer;
+
+    private volatile Filters current;
+    // Guards additions and the swap to rebuilt filters; held only for in-memory work
+    private final Lock lock = new ReentrantLock();
+    // Values added since the last rebuild began, whose transactions may not have committed yet
+    private List<String[]> additions = new ArrayList<>();
+
+    public UserAvailabilityFilter(UserRepository userRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${users.availability.expected-users}") long expectedUsers,
+                                  @Value("${users.availability.false-positive-rate}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.rebuildTimer = Timer.builder("users.availability.filter.rebuild")
+                .description("Rebuilds of the availability filters from the database")
+                .register(meterRegistry);
+        for (Field field : Field.values()) {
+            Gauge.builder("users.availability.filter.expected.fpp", this, filter -> filter.expectedFalsePositiveRate(field))
+                    .description("False-positive probability of the filter at its current fill")
+                    .tag("field", tag(field))
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Whether a user holds the value: answered from the filter when it is definitely
+     * absent, otherwise by {@code database}.
+     */
+    public boolean exists(Field field, String value, Predicate<String> database) {
+        Filters filters = current;
+        if (filters != null && !filters.get(field).mightContain(normalize(value))) {
+            count(field, "absent");
+            return false;
+        }
+        boolean exists = database.test(value);
+        // A possible match the database does not confirm is a false positive of the filter
+        count(field, filters == null ? "not_ready" : exists ? "present" : "false_positive");
+        return exists;
+    }
+
+    public void add(String username, String email) {
+        String[] values = {normalize(username), normalize(email)};
+        lock.lock();
+        try {
+            if (current != null) {
+                put(current, values);
+            }
+            additions.add(values);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${users.availability.rebuild-interval}",
+            initialDelayString = "${users.availability.rebuild-interval}")
+    public void rebuild() {
+        rebuildTimer.record(() -> {
+            // Sized for growth so the filter stays near its target rate until the next rebuild
+            long capacity = Math.max(expectedUsers, 2 * userRepository.count());
+            Filters filters = new Filters(new BloomFilter(capacity, falsePositiveRate), new BloomFilter(capacity, falsePositiveRate));
+            List<String[]> carried;
+            lock.lock();
+            try {
+                // Possibly still uncommitted when the scan starts, so applied after it
+                carried = additions;
+                additions = new ArrayList<>();
+            } finally {
+                lock.unlock();
+            }
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<String> usernames = userRepository.streamUsernames()) {
+                        usernames.forEach(username -> filters.usernames().put(normalize(username)));
+                    }
+                    try (Stream<String> emails = userRepository.streamEmails()) {
+                        emails.forEach(email -> filters.emails().put(normalize(email)));
+                    }
+                });
+                lock.lock();
+                try {
+                    // Values added during the scan stay recorded for the next rebuild
+                    carried.forEach(values -> put(filters, values));
+                    additions.forEach(values -> put(filters, values));
+                    current = filters;
+                } finally {
+                    lock.unlock();
+                }
+                log.info("Rebuilt availability filters for up to {} users", capacity);
+            } catch (RuntimeException e) {
+                // Keep answering from the previous filters, which are still correct
+                lock.lock();
+                try {
+                    additions.addAll(0, carried);
+                } finally {
+                    lock.unlock();
+                }
+                log.warn("Rebuilding availability filters failed", e);
+            }
+        });
+    }
+
+    private static void put(Filters filters, String[] values) {
+        filters.usernames().put(values[0]);
+        filters.emails().put(values[1]);
+    }
+
+    private double expectedFalsePositiveRate(Field field) {
+        Filters filters = current;
+        return filters != null ? filters.get(field).expectedFalsePositiveRate() : Double.NaN;
+    }
+
+    private void count(Field field, String result) {
+        Counter.builder("users.availability.checks")
+                .description("Availability checks by outcome; false_positive / (absent + false_positive) is the observed false-positive rate")
+                .tag("field", tag(field))
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String tag(Field field) {
+        return field.name().toLowerCase(Locale.ROOT);
+    }
+
+    // Same normalisation as the lower(...) unique indexes
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,181 @@
+package com.netflix.users.controller;
+
+import com.netflix.common.batch.BatchIds;
+import com.netflix.users.common.ApiResponse;
+import com.netflix.users.common.CursorPage;
+import com.netflix.users.dto.CreateUserDto;
+import com.netflix.users.dto.UserDto;
+import com.netflix.users.dto.UserVersion;
+import com.netflix.users.dto.Versioned;
+import com.netflix.users.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/users")
+public class UserController {
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Conditional GET: the ETag covers the ids and versions of the page, so an
+     * unchanged page answers 304 without loading or serialising the users. A
+     * 200 carries the ETag read in the same snapshot as the users it returns.
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<CursorPage<UserDto>>> getAllUsers(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        try {
+            String eTag = UserVersion.eTag(userService.findPageVersions(after, limit));
+            if (request.checkNotModified(eTag)) {
+                return null;
+            }
+            Versioned<CursorPage<UserDto>> users = userService.findAllVersioned(after, limit);
+            return ResponseEntity.ok()
+                .eTag(users.eTag())
+                .body(ApiResponse.success("Users retrieved successfully", users.body()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve users"));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ApiResponse<UserDto>> getUserById(@PathVariable Long id, WebRequest request) {
+        try {
+            UserVersion version = userService.findVersion(id);
+            // Answers If-None-Match / If-Modified-Since with 304 before the user is loaded
+            if (request.checkNotModified(version.eTag(), version.lastModified())) {
+                return null;
+            }
+            Versioned<UserDto> user = userService.findVersionedById(id);
+            return ResponseEntity.ok()
+                .eTag(user.eTag())
+                .lastModified(user.lastModified())
+                .body(ApiResponse.success("User retrieved successfully", user.body()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve user"));
+        }
+    }
+
+    /**
+     * Signup form check, usually answered from memory without a database query.
+     */
+    @GetMapping("/available")
+    public ResponseEntity<ApiResponse<Boolean>> usernameAvailable(@RequestParam String username) {
+        try {
+            boolean available = userService.usernameAvailable(username);
+            return ResponseEntity.ok(
+                ApiResponse.success(available ? "Username is available" : "Username is taken", available)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to check username"));
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<UserDto>>> getUsersByIds(@RequestBody List<Long> ids) {
+        try {
+            List<UserDto> users = userService.findByIds(BatchIds.check(ids));
+            return ResponseEntity.ok(
+                ApiResponse.success("Users retrieved successfully", users)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to retrieve users"));
+        }
+    }
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<UserDto>> createUser(@Valid @RequestBody CreateUserDto createUserDto) {
+        try {
+            UserDto createdUser = userService.create(createUserDto);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("User created successfully", createdUser));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create user"));
+        }
+    }
+
+    /**
+     * With {@code If-Match}, updates only if the user is still at that version
+     * and answers 412 Precondition Failed otherwise.
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<UserDto>> updateUser(@PathVariable Long id,
+                                                          @Valid @RequestBody CreateUserDto updateUserDto,
+                                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                          WebRequest request) {
+        try {
+            Long expectedVersion = null;
+            if (ifMatch != null) {
+                UserVersion current = userService.findVersion(id);
+                // Sets 412 when If-Match does not name the current version
+                if (request.checkNotModified(current.eTag())) {
+                    return null;
+                }
+                expectedVersion = current.version();
+            }
+            // The ETag is the version this update wrote, not a later re-read
+            Versioned<UserDto> updatedUser = userService.updateVersioned(id, updateUserDto, expectedVersion);
+            return ResponseEntity.ok()
+                .eTag(updatedUser.eTag())
+                .lastModified(updatedUser.lastModified())
+                .body(ApiResponse.success("User updated successfully", updatedUser.body()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .body(ApiResponse.error("User has been modified by another request"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to update user"));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
+        try {
+            userService.deleteById(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("User deleted successfully", null)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to delete user"));
+        }
+    }
+}
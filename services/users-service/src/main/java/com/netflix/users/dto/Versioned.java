@@ -0,0 +1,12 @@
+package com.netflix.users.dto;
+
+/**
+ * A response body with the ETag of the rows it was read from, and their
+ * Last-Modified time for a single user (null for pages).
+ */
+public record Versioned<T>(T body, String eTag, Long lastModified) {
+
+    public static <T> Versioned<T> of(T body, UserVersion version) {
+        return new Versioned<>(body, version.eTag(), version.lastModified());
+    }
+}
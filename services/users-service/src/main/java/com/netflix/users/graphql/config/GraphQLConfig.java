@@ -0,0 +1,23 @@
+package com.netflix.users.graphql.config;
+
+import com.netflix.common.graphql.document.PersistedQueryConfig;
+import graphql.scalars.ExtendedScalars;
+import graphql.schema.GraphQLScalarType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.execution.RuntimeWiringConfigurer;
+
+@Configuration
+@Import(PersistedQueryConfig.class)
+public class GraphQLConfig {
+
+    @Bean
+    public RuntimeWiringConfigurer runtimeWiringConfigurer() {
+        return wiringBuilder -> wiringBuilder
+                .scalar(ExtendedScalars.DateTime)
+                // Representations are passed as plain JSON objects
+                .scalar(GraphQLScalarType.newScalar(ExtendedScalars.Object).name("_Any").build())
+                .type("_Entity", builder -> builder.typeResolver(env -> env.getSchema().getObjectType("User")));
+    }
+}
@@ -0,0 +1,105 @@
+package com.netflix.users.graphql.datafetcher;
+
+import com.netflix.common.batch.BatchIds;
+import com.netflix.users.dto.CreateUserDto;
+import com.netflix.users.dto.UserDto;
+import com.netflix.users.graphql.connection.Connection;
+import com.netflix.users.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+@Controller
+public class UserDataFetcher {
+
+    @Autowired
+    private UserService userService;
+
+    @QueryMapping
+    public Connection<UserDto> users(@Argument Integer first, @Argument String after) {
+        return Connection.from(userService.findAll(after, first), UserDto::id);
+    }
+
+    @QueryMapping
+    public UserDto user(@Argument String id) {
+        return userService.findById(Long.valueOf(id));
+    }
+
+    @QueryMapping
+    public List<UserDto> usersByIds(@Argument List<Long> ids) {
+        return userService.findByIds(BatchIds.check(ids));
+    }
+
+    @QueryMapping
+    public UserDto userByUsername(@Argument String username) {
+        return userService.findByUsername(username);
+    }
+
+    @QueryMapping
+    public UserDto userByEmail(@Argument String email) {
+        return userService.findByEmail(email);
+    }
+
+    @QueryMapping
+    public Boolean usernameAvailable(@Argument String username) {
+        return userService.usernameAvailable(username);
+    }
+
+    @MutationMapping
+    public UserDto createUser(@Argument CreateUserInput input) {
+        return userService.create(toCreateUserDto(input));
+    }
+
+    @MutationMapping
+    public UserDto updateUser(@Argument String id, @Argument CreateUserInput input) {
+        return userService.update(Long.valueOf(id), toCreateUserDto(input), null);
+    }
+
+    @MutationMapping
+    public Boolean deleteUser(@Argument String id) {
+        userService.deleteById(Long.valueOf(id));
+        return true;
+    }
+
+    // DateTime is an offset timestamp, the entity stores local server time
+    @SchemaMapping(typeName = "User", field = "createdAt")
+    public OffsetDateTime createdAt(UserDto user) {
+        return toOffsetDateTime(user.createdAt());
+    }
+
+    @SchemaMapping(typeName = "User", field = "updatedAt")
+    public OffsetDateTime updatedAt(UserDto user) {
+        return toOffsetDateTime(user.updatedAt());
+    }
+
+    private OffsetDateTime toOffsetDateTime(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toOffsetDateTime() : null;
+    }
+
+    private CreateUserDto toCreateUserDto(CreateUserInput input) {
+        return new CreateUserDto(
+                input.username(),
+                input.email(),
+                input.password(),
+                input.firstName(),
+                input.lastName()
+        );
+    }
+
+    // Input record class for GraphQL
+    public record CreateUserInput(
+            String username,
+            String email,
+            String password,
+            String firstName,
+            String lastName
+    ) {}
+}
@@ -1,24 +1,70 @@
 package com.netflix.users.repository;
 
+import com.netflix.users.dto.UserDto;
+import com.netflix.users.dto.UserVersion;
 import com.netflix.users.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Optional<User> findByUsername(String username);
+    // Read paths select straight into UserDto: no managed entities, no dirty-checking snapshots,
+    // and the password column is never read
+    String DTO = "new com.netflix.users.dto.UserDto(u.id, u.username, u.email, u.firstName, u.lastName, u.createdAt, u.updatedAt)";
 
-    Optional<User> findByEmail(String email);
+    @Query("SELECT " + DTO + " FROM User u WHERE u.id = :id")
+    Optional<UserDto> findDtoById(@Param("id") Long id);
 
-    @Query("SELECT u FROM User u WHERE u.username = :username OR u.email = :email")
-    Optional<User> findByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
+    @Query("SELECT " + DTO + " FROM User u WHERE u.id IN :ids")
+    List<UserDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
 
-    boolean existsByUsername(String username);
+    // Usernames and emails are unique and matched case-insensitively through the lower(...) indexes
 
-    boolean existsByEmail(String email);
+    @Query("SELECT " + DTO + " FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    Optional<UserDto> findDtoByUsername(@Param("username") String username);
+
+    @Query("SELECT " + DTO + " FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    Optional<UserDto> findDtoByEmail(@Param("email") String email);
+
+    // Keyset pagination: seeks past the last seen id and reads at most one page
+    @Query("SELECT " + DTO + " FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserDto> findPage(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Versions of the same rows as findPage, for conditional requests
+    @Query("SELECT new com.netflix.users.dto.UserVersion(u.id, u.version, COALESCE(u.updatedAt, u.createdAt)) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserVersion> findPageVersions(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT new com.netflix.users.dto.UserVersion(u.id, u.version, COALESCE(u.updatedAt, u.createdAt)) FROM User u WHERE u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+    // Up to two users: one holding the username, one holding the email
+    @Query("SELECT " + DTO + " FROM User u WHERE LOWER(u.username) = LOWER(:username) OR LOWER(u.email) = LOWER(:email)")
+    List<UserDto> findByUsernameOrEmail(@Param("username") String username, @Param("email") String email);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE LOWER(u.username) = LOWER(:username)")
+    boolean existsByUsername(@Param("username") String username);
+
+    @Query("SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE LOWER(u.email) = LOWER(:email)")
+    boolean existsByEmail(@Param("email") String email);
+
+    // Feed the availability filters; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.username FROM User u")
+    Stream<String> streamUsernames();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.email FROM User u")
+    Stream<String> streamEmails();
 }
@@ -1,27 +1,55 @@
 package com.netflix.users.service;
 
+import com.netflix.users.common.CursorPage;
 import com.netflix.users.dto.CreateUserDto;
 import com.netflix.users.dto.UserDto;
+import com.netflix.users.dto.UserVersion;
+import com.netflix.users.dto.Versioned;
 
 import java.util.List;
 
 public interface UserService {
 
-    List<UserDto> findAll();
+    CursorPage<UserDto> findAll(String after, Integer limit);
 
     UserDto findById(Long id);
 
+    UserVersion findVersion(Long id);
+
+    List<UserVersion> findPageVersions(String after, Integer limit);
+
+    /**
+     * The page of {@link #findAll} with the ETag of exactly those rows, both
+     * read from one snapshot.
+     */
+    Versioned<CursorPage<UserDto>> findAllVersioned(String after, Integer limit);
+
+    Versioned<UserDto> findVersionedById(Long id);
+
+    List<UserDto> findByIds(List<Long> ids);
+
     UserDto findByUsername(String username);
 
     UserDto findByEmail(String email);
 
     UserDto create(CreateUserDto createUserDto);
 
-    UserDto update(Long id, CreateUserDto updateUserDto);
+    /**
+     * Updates the user; a non-null {@code expectedVersion} must match the stored
+     * version, otherwise the update fails with an optimistic locking failure.
+     */
+    UserDto update(Long id, CreateUserDto updateUserDto, Long expectedVersion);
+
+    /**
+     * Same as {@link #update}, with the version this update wrote.
+     */
+    Versioned<UserDto> updateVersioned(Long id, CreateUserDto updateUserDto, Long expectedVersion);
 
     void deleteById(Long id);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    boolean usernameAvailable(String username);
 }
@@ -1,88 +1,154 @@
 package com.netflix.users.service;
 
+import com.netflix.users.availability.UserAvailabilityFilter;
+import com.netflix.users.common.CursorPage;
 import com.netflix.users.dto.CreateUserDto;
 import com.netflix.users.dto.UserDto;
+import com.netflix.users.dto.UserVersion;
+import com.netflix.users.dto.Versioned;
 import com.netflix.users.entity.User;
 import com.netflix.users.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import io.micrometer.observation.annotation.Observed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
+// One timer per method, tagged class and method
+@Observed(name = "users.service")
 @Service
 @Transactional
 public class UserServiceImpl implements UserService {
 
+    // Keeps each IN (...) list well below the PostgreSQL bind parameter limit
+    private static final int ID_LOOKUP_CHUNK_SIZE = 1000;
+
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserAvailabilityFilter availabilityFilter;
+
     @Override
     @Transactional(readOnly = true)
-    public List<UserDto> findAll() {
-        return userRepository.findAll()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<UserDto> findAll(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        // Reads one row beyond the page so hasNextPage needs no count query
+        List<UserDto> users = userRepository.findPage(CursorPage.decodeCursor(after), PageRequest.ofSize(pageSize + 1));
+        return CursorPage.of(users, pageSize, UserDto::id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDto findById(Long id) {
-        User user = userRepository.findById(id)
+        return userRepository.findDtoById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
-        return convertToDto(user);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserVersion findVersion(Long id) {
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserVersion> findPageVersions(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return userRepository.findPageVersions(CursorPage.decodeCursor(after), PageRequest.ofSize(pageSize + 1));
+    }
+
+    @Override
+    // Repeatable read: both statements see the same snapshot, so no update can fall between them
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<CursorPage<UserDto>> findAllVersioned(String after, Integer limit) {
+        String eTag = UserVersion.eTag(findPageVersions(after, limit));
+        return new Versioned<>(findAll(after, limit), eTag, null);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Versioned<UserDto> findVersionedById(Long id) {
+        UserVersion version = findVersion(id);
+        return Versioned.of(findById(id), version);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UserDto> findByIds(List<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<Long, UserDto> usersById = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += ID_LOOKUP_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + ID_LOOKUP_CHUNK_SIZE, distinctIds.size()));
+            userRepository.findDtosByIdIn(chunk)
+                    .forEach(user -> usersById.put(user.id(), user));
+        }
+
+        // Preserve request order; ids that do not exist map to null
+        return ids.stream()
+                .map(id -> id != null ? usersById.get(id) : null)
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDto findByUsername(String username) {
-        User user = userRepository.findByUsername(username)
+        return userRepository.findDtoByUsername(username)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with username: " + username));
-        return convertToDto(user);
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDto findByEmail(String email) {
-        User user = userRepository.findByEmail(email)
+        return userRepository.findDtoByEmail(email)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with email: " + email));
-        return convertToDto(user);
     }
 
     @Override
     public UserDto create(CreateUserDto createUserDto) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(createUserDto.username())) {
-            throw new IllegalArgumentException("Username already exists: " + createUserDto.username());
-        }
-
-        // Check if email already exists
-        if (userRepository.existsByEmail(createUserDto.email())) {
-            throw new IllegalArgumentException("Email already exists: " + createUserDto.email());
-        }
-
-        User user = convertToEntity(createUserDto);
-        User savedUser = userRepository.save(user);
+        // No existence checks: the unique indexes reject duplicates, also between concurrent signups
+        User savedUser = saveUnique(convertToEntity(createUserDto));
         return convertToDto(savedUser);
     }
 
     @Override
-    public UserDto update(Long id, CreateUserDto updateUserDto) {
+    public UserDto update(Long id, CreateUserDto updateUserDto, Long expectedVersion) {
+        return updateVersioned(id, updateUserDto, expectedVersion).body();
+    }
+
+    @Override
+    public Versioned<UserDto> updateVersioned(Long id, CreateUserDto updateUserDto, Long expectedVersion) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + id));
-
-        // Check if username is being changed and if it already exists
-        if (!existingUser.getUsername().equals(updateUserDto.username()) &&
-            userRepository.existsByUsername(updateUserDto.username())) {
-            throw new IllegalArgumentException("Username already exists: " + updateUserDto.username());
+        // Writes racing past this check are caught by the @Version check on flush
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new OptimisticLockingFailureException("User has been modified: " + id);
         }
 
-        // Check if email is being changed and if it already exists
-        if (!existingUser.getEmail().equals(updateUserDto.email()) &&
-            userRepository.existsByEmail(updateUserDto.email())) {
-            throw new IllegalArgumentException("Email already exists: " + updateUserDto.email());
+        // One lookup for both fields; concurrent updates that pass it are caught by the unique indexes
+        for (UserDto other : userRepository.findByUsernameOrEmail(updateUserDto.username(), updateUserDto.email())) {
+            if (!other.id().equals(id)) {
+                throw other.username().equalsIgnoreCase(updateUserDto.username())
+                        ? usernameExists(updateUserDto.username())
+                        : emailExists(updateUserDto.email());
+            }
         }
 
         existingUser.setUsername(updateUserDto.username());
@@ -91,8 +157,10 @@ public class UserServiceImpl implements UserService {
         existingUser.setFirstName(updateUserDto.firstName());
         existingUser.setLastName(updateUserDto.lastName());
 
-        User updatedUser = userRepository.save(existingUser);
-        return convertToDto(updatedUser);
+        // Flushed, so the version and updatedAt are the ones written
+        User updatedUser = saveUnique(existingUser);
+        return Versioned.of(convertToDto(updatedUser),
+                new UserVersion(updatedUser.getId(), updatedUser.getVersion(), updatedUser.getUpdatedAt()));
     }
 
     @Override
@@ -103,19 +171,64 @@ public class UserServiceImpl implements UserService {
         userRepository.deleteById(id);
     }
 
+    // No transaction up front: answers from the filter never take a connection from the pool
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean existsByUsername(String username) {
-        return userRepository.existsByUsername(username);
+        return availabilityFilter.exists(UserAvailabilityFilter.Field.USERNAME, username, userRepository::existsByUsername);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public boolean existsByEmail(String email) {
-        return userRepository.existsByEmail(email);
+        return availabilityFilter.exists(UserAvailabilityFilter.Field.EMAIL, email, userRepository::existsByEmail);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean usernameAvailable(String username) {
+        if (username == null || username.trim().isEmpty()) {
+            throw new IllegalArgumentException("Username is required");
+        }
+        return !existsByUsername(username);
+    }
+
+    /**
+     * Flushes so that a duplicate username or email fails here, and translates the
+     * unique index violation into the same error as the lookups.
+     */
+    private User saveUnique(User user) {
+        // Added before the write so the filter never misses a taken username or email
+        availabilityFilter.add(user.getUsername(), user.getEmail());
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            String constraint = e.getCause() instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName()
+                    : null;
+            if (constraint != null) {
+                String name = constraint.toLowerCase(Locale.ROOT);
+                if (name.contains("username")) {
+                    throw usernameExists(user.getUsername());
+                }
+                if (name.contains("email")) {
+                    throw emailExists(user.getEmail());
+                }
+            }
+            throw e;
+        }
+    }
+
+    private IllegalArgumentException usernameExists(String username) {
+        return new IllegalArgumentException("Username already exists: " + username);
+    }
+
+    private IllegalArgumentException emailExists(String email) {
+        return new IllegalArgumentException("Email already exists: " + email);
     }
 
-    private UserDto convertToDto(User user) {
+    // Package-private for the mapping benchmark in src/jmh
+    UserDto convertToDto(User user) {
         return new UserDto(
                 user.getId(),
                 user.getUsername(),
@@ -0,0 +1,2 @@
+-- User ids come from a pooled sequence (allocationSize = 50) so Hibernate can batch inserts
+ALTER TABLE users ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,2 @@
+-- Optimistic locking and conditional requests: version backs the ETag.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
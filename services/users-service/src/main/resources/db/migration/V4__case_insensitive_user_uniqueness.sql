@@ -0,0 +1,25 @@
+-- Usernames and emails are unique regardless of case. The functional indexes replace the
+-- case-sensitive unique constraints and serve the lower(...) lookups; their names tell the
+-- service which field a unique violation is about.
+-- Fails if existing rows differ only in case; resolve those before migrating.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_username_lower ON users (lower(username));
+CREATE UNIQUE INDEX IF NOT EXISTS ux_users_email_lower ON users (lower(email));
+
+-- Single-column unique constraints on username/email, whatever they were named
+-- (users_username_key from V1, generated names from Hibernate-created schemas)
+DO $$
+DECLARE
+    c record;
+BEGIN
+    FOR c IN
+        SELECT con.conname
+        FROM pg_constraint con
+        JOIN pg_attribute att ON att.attrelid = con.conrelid AND att.attnum = con.conkey[1]
+        WHERE con.conrelid = 'users'::regclass
+          AND con.contype = 'u'
+          AND array_length(con.conkey, 1) = 1
+          AND att.attname IN ('username', 'email')
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', c.conname);
+    END LOOP;
+END $$;
@@ -0,0 +1,7 @@
+-- Hibernate's schema validation looks sequences up in information_schema.sequences, which does not
+-- list identity sequences. Replace the identity with a plain sequence of the same name and step;
+-- plain SQL inserts keep drawing ids from it through the column default.
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_id_seq', (SELECT coalesce(max(id), 0) + 50 FROM users));
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
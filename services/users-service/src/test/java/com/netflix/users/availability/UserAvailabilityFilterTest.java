@@ -0,0 +1,142 @@
+package com.netflix.users.availability;
+
+import com.netflix.users.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The filter must never answer "absent" for a value that was added, whatever the
+ * interleaving of additions, commits and rebuilds.
+ */
+class UserAvailabilityFilterTest {
+
+    // Rows a rebuild can see
+    private final Set<String> committed = ConcurrentHashMap.newKeySet();
+
+    private UserRepository userRepository;
+    private UserAvailabilityFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        when(userRepository.count()).thenAnswer(invocation -> (long) committed.size());
+        when(userRepository.streamUsernames()).thenAnswer(invocation -> List.copyOf(committed).stream());
+        when(userRepository.streamEmails()).thenAnswer(invocation -> List.copyOf(committed).stream().map(UserAvailabilityFilterTest::email));
+        filter = new UserAvailabilityFilter(userRepository, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), 10_000, 0.01);
+    }
+
+    @Test
+    void keepsValuesCommittedOnlyAfterTheScan() {
+        filter.rebuild();
+        filter.add("Late", email("Late"));
+
+        // The writing transaction is still open while the next rebuild reads
+        filter.rebuild();
+        committed.add("Late");
+
+        assertNotRuledOut("Late");
+    }
+
+    @Test
+    void keepsValuesAddedDuringTheScan() {
+        committed.add("existing");
+        filter.rebuild();
+        when(userRepository.streamUsernames()).thenAnswer(invocation -> {
+            filter.add("during", email("during"));
+            return Stream.of("existing");
+        });
+
+        filter.rebuild();
+        committed.add("during");
+
+        assertNotRuledOut("during");
+        assertNotRuledOut("existing");
+    }
+
+    @Test
+    void keepsValuesAddedBeforeAFailedRebuild() {
+        filter.rebuild();
+        filter.add("kept", email("kept"));
+        when(userRepository.streamUsernames())
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenAnswer(invocation -> Stream.<String>empty());
+        filter.rebuild();
+        filter.rebuild();
+        committed.add("kept");
+
+        assertNotRuledOut("kept");
+    }
+
+    @Test
+    void hasNoFalseNegativesUnderConcurrentRebuilds() throws Exception {
+        filter.rebuild();
+        int writers = 4;
+        int perWriter = 2_000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 1);
+        try {
+            List<Future<?>> writes = IntStream.range(0, writers)
+                    .<Future<?>>mapToObj(writer -> executor.submit(() -> {
+                        start.await();
+                        for (int i = 0; i < perWriter; i++) {
+                            String username = "user-" + writer + "-" + i;
+                            filter.add(username, email(username));
+                            committed.add(username);
+                        }
+                        return null;
+                    }))
+                    .toList();
+            Future<?> rebuilds = executor.submit(() -> {
+                start.await();
+                while (writes.stream().anyMatch(write -> !write.isDone())) {
+                    filter.rebuild();
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> write : writes) {
+                write.get(1, TimeUnit.MINUTES);
+            }
+            rebuilds.get(1, TimeUnit.MINUTES);
+        } finally {
+            executor.shutdownNow();
+        }
+        filter.rebuild();
+
+        for (String username : committed) {
+            assertNotRuledOut(username);
+        }
+    }
+
+    // The database confirms every committed value, so false means the filter ruled it out
+    private void assertNotRuledOut(String username) {
+        assertThat(filter.exists(UserAvailabilityFilter.Field.USERNAME, username.toUpperCase(), value -> true))
+                .as("username %s", username)
+                .isTrue();
+        assertThat(filter.exists(UserAvailabilityFilter.Field.EMAIL, email(username), value -> true))
+                .as("email of %s", username)
+                .isTrue();
+    }
+
+    private static String email(String username) {
+        return username + "@example.com";
+    }
+}
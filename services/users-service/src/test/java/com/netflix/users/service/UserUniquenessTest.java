@@ -0,0 +1,145 @@
+package com.netflix.users.service;
+
+import com.netflix.users.dto.CreateUserDto;
+import com.netflix.users.dto.UserDto;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Usernames and emails are unique regardless of case, enforced by the
+ * functional indexes and reported with the same messages as the lookups.
+ */
+@SpringBootTest
+@Testcontainers(disabledWithoutDocker = true)
+class UserUniquenessTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void migrationsReplaceTheUniqueConstraintsWithCaseInsensitiveIndexes() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE tablename = 'users' AND indexdef LIKE 'CREATE UNIQUE%lower%'",
+                String.class))
+                .containsExactlyInAnyOrder("ux_users_username_lower", "ux_users_email_lower");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_constraint WHERE conrelid = 'users'::regclass AND contype = 'u'",
+                Integer.class))
+                .isZero();
+    }
+
+    @Test
+    void rejectsAUsernameThatDiffersOnlyInCase() {
+        String username = uniqueName();
+        userService.create(user(username, username + "@example.com"));
+
+        assertThatThrownBy(() -> userService.create(user(username.toUpperCase(), "other-" + username + "@example.com")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Username already exists: " + username.toUpperCase());
+    }
+
+    @Test
+    void rejectsAnEmailThatDiffersOnlyInCase() {
+        String username = uniqueName();
+        userService.create(user(username, username + "@example.com"));
+
+        String email = (username + "@EXAMPLE.com").toUpperCase();
+        assertThatThrownBy(() -> userService.create(user("other-" + username, email)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email already exists: " + email);
+    }
+
+    @Test
+    void updateRejectsAnotherUsersUsernameOrEmail() {
+        String taken = uniqueName();
+        userService.create(user(taken, taken + "@example.com"));
+        String mine = uniqueName();
+        UserDto me = userService.create(user(mine, mine + "@example.com"));
+
+        assertThatThrownBy(() -> userService.update(me.id(), user(taken.toUpperCase(), mine + "@example.com"), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Username already exists: " + taken.toUpperCase());
+        assertThatThrownBy(() -> userService.update(me.id(), user(mine, taken + "@Example.com"), null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Email already exists: " + taken + "@Example.com");
+
+        // Changing only the case of one's own username is allowed
+        assertThat(userService.update(me.id(), user(mine.toUpperCase(), mine + "@example.com"), null).username())
+                .isEqualTo(mine.toUpperCase());
+    }
+
+    @Test
+    void concurrentSignupsWithTheSameUsernameCreateOneUser() throws Exception {
+        String username = uniqueName();
+        int signups = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(signups);
+        List<Future<UserDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < signups; i++) {
+                // Case varies too, so only the functional index can tell them apart
+                String variant = i % 2 == 0 ? username : username.toUpperCase();
+                String email = username + "-" + i + "@example.com";
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return userService.create(user(variant, email));
+                }));
+            }
+            start.countDown();
+
+            int created = 0;
+            for (Future<UserDto> result : results) {
+                try {
+                    result.get(1, TimeUnit.MINUTES);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause())
+                            .isInstanceOf(IllegalArgumentException.class)
+                            .hasMessageStartingWith("Username already exists: ");
+                }
+            }
+            assertThat(created).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CreateUserDto user(String username, String email) {
+        return new CreateUserDto(username, email, "password123", null, null);
+    }
+
+    private static String uniqueName() {
+        return "user" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
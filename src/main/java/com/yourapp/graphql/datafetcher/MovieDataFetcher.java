@@ -1,18 +1,23 @@
 package com.yourapp.graphql.datafetcher;
 
+import com.yourapp.graphql.connection.Connection;
 import com.yourapp.movies.dto.CreateMovieDto;
 import com.yourapp.movies.dto.MovieDto;
+import com.yourapp.movies.dto.ReviewSummaryDto;
 import com.yourapp.movies.service.MovieService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.time.LocalDate;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Controller
 public class MovieDataFetcher {
@@ -21,8 +26,8 @@ public class MovieDataFetcher {
     private MovieService movieService;
 
     @QueryMapping
-    public List<MovieDto> movies() {
-        return movieService.findAll();
+    public Connection<MovieDto> movies(@Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findAll(after, first), MovieDto::id);
     }
 
     @QueryMapping
@@ -31,18 +36,18 @@ public class MovieDataFetcher {
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByTitle(@Argument String title) {
-        return movieService.findByTitle(title);
+    public Connection<MovieDto> moviesByTitle(@Argument String title, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByTitle(title, after, first), MovieDto::id);
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByGenre(@Argument String genre) {
-        return movieService.findByGenre(genre);
+    public Connection<MovieDto> moviesByGenre(@Argument String genre, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByGenre(genre, after, first), MovieDto::id);
     }
 
     @QueryMapping
-    public List<MovieDto> moviesByDirector(@Argument String director) {
-        return movieService.findByDirector(director);
+    public Connection<MovieDto> moviesByDirector(@Argument String director, @Argument Integer first, @Argument String after) {
+        return Connection.from(movieService.findByDirector(director, after, first), MovieDto::id);
     }
 
     @MutationMapping
@@ -79,20 +84,25 @@ public class MovieDataFetcher {
         }
     }
 
-    // Schema mappings for computed fields
+    // Computed fields are served from the precomputed rating aggregates
     @SchemaMapping(typeName = "Movie", field = "averageRating")
     public Float averageRating(MovieDto movie) {
-        if (movie.reviews() == null || movie.reviews().isEmpty()) {
-            return null;
-        }
-        return (float) movie.reviews().stream()
-            .mapToInt(review -> review.rating())
-            .average()
-            .orElse(0.0);
+        return movie.averageRating();
     }
 
     @SchemaMapping(typeName = "Movie", field = "reviewCount")
     public Integer reviewCount(MovieDto movie) {
-        return movie.reviews() != null ? movie.reviews().size() : 0;
+        return movie.reviewCount() != null ? movie.reviewCount() : 0;
+    }
+
+    // Reviews are loaded only when requested, for all movies of the result in one query
+    @BatchMapping(typeName = "Movie", field = "reviews")
+    public Map<MovieDto, List<ReviewSummaryDto>> reviews(List<MovieDto> movies) {
+        Map<Long, List<ReviewSummaryDto>> reviewsByMovieId = movieService.findReviewsByMovieIds(
+                movies.stream().map(MovieDto::id).collect(Collectors.toList()));
+
+        Map<MovieDto, List<ReviewSummaryDto>> result = new LinkedHashMap<>();
+        movies.forEach(movie -> result.put(movie, reviewsByMovieId.getOrDefault(movie.id(), List.of())));
+        return result;
     }
 }
@@ -0,0 +1,62 @@
+package com.yourapp.graphql.datafetcher;
+
+import com.yourapp.movies.dto.MovieDto;
+import com.yourapp.movies.service.MovieService;
+import com.yourapp.reviews.dto.CreateReviewDto;
+import com.yourapp.reviews.dto.ReviewDto;
+import com.yourapp.reviews.dto.UpdateReviewDto;
+import com.yourapp.reviews.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.Map;
+
+@Controller
+public class ReviewDataFetcher {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private MovieService movieService;
+
+    // Writes go through ReviewService so the movie's rating aggregates change in the same transaction
+
+    @MutationMapping
+    public ReviewDto createReview(@Argument Map<String, Object> input) {
+        CreateReviewDto createReviewDto = new CreateReviewDto(
+            (String) input.get("text"),
+            (Integer) input.get("rating"),
+            Long.parseLong((String) input.get("movieId")),
+            Long.parseLong((String) input.get("userId"))
+        );
+        return reviewService.create(createReviewDto);
+    }
+
+    @MutationMapping
+    public ReviewDto updateReview(@Argument String id, @Argument Map<String, Object> input) {
+        UpdateReviewDto updateReviewDto = new UpdateReviewDto(
+            (String) input.get("text"),
+            (Integer) input.get("rating")
+        );
+        return reviewService.update(Long.parseLong(id), updateReviewDto);
+    }
+
+    @MutationMapping
+    public Boolean deleteReview(@Argument String id) {
+        try {
+            reviewService.deleteById(Long.parseLong(id));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @SchemaMapping(typeName = "Review", field = "movie")
+    public MovieDto movie(ReviewDto review) {
+        return movieService.findById(review.movieId());
+    }
+}
@@ -1,6 +1,7 @@
 package com.yourapp.movies.controller;
 
 import com.yourapp.common.dto.ApiResponse;
+import com.yourapp.common.dto.CursorPage;
 import com.yourapp.movies.dto.CreateMovieDto;
 import com.yourapp.movies.dto.MovieDto;
 import com.yourapp.movies.service.MovieService;
@@ -10,7 +11,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/movies")
@@ -20,12 +20,17 @@ public class MovieController {
     private MovieService movieService;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<MovieDto>>> getAllMovies() {
+    public ResponseEntity<ApiResponse<CursorPage<MovieDto>>> getAllMovies(
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<MovieDto> movies = movieService.findAll();
+            CursorPage<MovieDto> movies = movieService.findAll(after, limit);
             return ResponseEntity.ok(
                 ApiResponse.success("Movies retrieved successfully", movies)
             );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to retrieve movies"));
@@ -97,24 +102,29 @@ public class MovieController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<ApiResponse<List<MovieDto>>> searchMovies(
+    public ResponseEntity<ApiResponse<CursorPage<MovieDto>>> searchMovies(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String director) {
+            @RequestParam(required = false) String director,
+            @RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<MovieDto> movies;
+            CursorPage<MovieDto> movies;
             if (title != null && !title.trim().isEmpty()) {
-                movies = movieService.findByTitle(title);
+                movies = movieService.findByTitle(title, after, limit);
             } else if (genre != null && !genre.trim().isEmpty()) {
-                movies = movieService.findByGenre(genre);
+                movies = movieService.findByGenre(genre, after, limit);
             } else if (director != null && !director.trim().isEmpty()) {
-                movies = movieService.findByDirector(director);
+                movies = movieService.findByDirector(director, after, limit);
             } else {
-                movies = movieService.findAll();
+                movies = movieService.findAll(after, limit);
             }
             return ResponseEntity.ok(
                 ApiResponse.success("Movies retrieved successfully", movies)
             );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to search movies"));
@@ -3,6 +3,10 @@ package com.yourapp.movies.dto;
 import java.time.LocalDate;
 import java.util.List;
 
+/**
+ * {@code reviews} is only populated for single-movie reads; list results carry
+ * {@code null} and rely on {@code reviewCount}/{@code averageRating} instead.
+ */
 public record MovieDto(
         Long id,
         String title,
@@ -10,7 +14,9 @@ public record MovieDto(
         LocalDate releaseDate,
         String genre,
         String director,
-        List<ReviewSummaryDto> reviews
+        List<ReviewSummaryDto> reviews,
+        Integer reviewCount,
+        Float averageRating
 ) {
     public MovieDto {
         if (title == null || title.trim().isEmpty()) {
@@ -13,13 +13,16 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "movies")
+@Table(name = "movies", indexes = {
+        @Index(name = "idx_movies_genre_id", columnList = "genre, id")
+})
 @EqualsAndHashCode(exclude = {"reviews"})
 @ToString(exclude = {"reviews"})
 public class Movie {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_id_seq")
+    @SequenceGenerator(name = "movies_id_seq", sequenceName = "movies_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Title is required")
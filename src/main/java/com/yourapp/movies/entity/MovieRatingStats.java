@@ -0,0 +1,43 @@
+package com.yourapp.movies.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Per-movie rating aggregates, maintained incrementally as reviews are written
+ * so that averageRating and reviewCount never require loading review rows.
+ */
+@Entity
+@Data
+@Table(name = "movie_rating_stats")
+public class MovieRatingStats {
+
+    @Id
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "rating_1", nullable = false)
+    private long rating1;
+
+    @Column(name = "rating_2", nullable = false)
+    private long rating2;
+
+    @Column(name = "rating_3", nullable = false)
+    private long rating3;
+
+    @Column(name = "rating_4", nullable = false)
+    private long rating4;
+
+    @Column(name = "rating_5", nullable = false)
+    private long rating5;
+
+    public Float averageRating() {
+        return reviewCount > 0 ? (float) ratingSum / reviewCount : null;
+    }
+}
@@ -0,0 +1,66 @@
+package com.yourapp.movies.repository;
+
+import com.yourapp.movies.entity.MovieRatingStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MovieRatingStatsRepository extends JpaRepository<MovieRatingStats, Long> {
+
+    /**
+     * Adds {@code delta} reviews with the given rating (use -1 to remove one) in a
+     * single atomic upsert, so concurrent review writes never lose an update.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO movie_rating_stats "
+            + "(movie_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) "
+            + "VALUES (:movieId, :delta, :delta * :rating, "
+            + "CASE WHEN :rating = 1 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 2 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 3 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 4 THEN :delta ELSE 0 END, "
+            + "CASE WHEN :rating = 5 THEN :delta ELSE 0 END) "
+            + "ON CONFLICT (movie_id) DO UPDATE SET "
+            + "review_count = movie_rating_stats.review_count + EXCLUDED.review_count, "
+            + "rating_sum = movie_rating_stats.rating_sum + EXCLUDED.rating_sum, "
+            + "rating_1 = movie_rating_stats.rating_1 + EXCLUDED.rating_1, "
+            + "rating_2 = movie_rating_stats.rating_2 + EXCLUDED.rating_2, "
+            + "rating_3 = movie_rating_stats.rating_3 + EXCLUDED.rating_3, "
+            + "rating_4 = movie_rating_stats.rating_4 + EXCLUDED.rating_4, "
+            + "rating_5 = movie_rating_stats.rating_5 + EXCLUDED.rating_5",
+            nativeQuery = true)
+    void applyRating(@Param("movieId") Long movieId, @Param("rating") int rating, @Param("delta") int delta);
+
+    /**
+     * Recomputes every aggregate from the reviews table. Rows of movies that no
+     * longer have any review are reset to zero in the same statement.
+     */
+    @Modifying
+    @Query(value = "WITH totals AS ("
+            + "SELECT movie_id, COUNT(*) AS review_count, SUM(rating) AS rating_sum, "
+            + "COUNT(*) FILTER (WHERE rating = 1) AS rating_1, "
+            + "COUNT(*) FILTER (WHERE rating = 2) AS rating_2, "
+            + "COUNT(*) FILTER (WHERE rating = 3) AS rating_3, "
+            + "COUNT(*) FILTER (WHERE rating = 4) AS rating_4, "
+            + "COUNT(*) FILTER (WHERE rating = 5) AS rating_5 "
+            + "FROM reviews GROUP BY movie_id), "
+            + "reset AS (UPDATE movie_rating_stats SET "
+            + "review_count = 0, rating_sum = 0, rating_1 = 0, rating_2 = 0, rating_3 = 0, rating_4 = 0, rating_5 = 0 "
+            + "WHERE movie_id NOT IN (SELECT movie_id FROM totals)) "
+            + "INSERT INTO movie_rating_stats "
+            + "(movie_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) "
+            + "SELECT movie_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5 FROM totals "
+            + "ON CONFLICT (movie_id) DO UPDATE SET "
+            + "review_count = EXCLUDED.review_count, "
+            + "rating_sum = EXCLUDED.rating_sum, "
+            + "rating_1 = EXCLUDED.rating_1, "
+            + "rating_2 = EXCLUDED.rating_2, "
+            + "rating_3 = EXCLUDED.rating_3, "
+            + "rating_4 = EXCLUDED.rating_4, "
+            + "rating_5 = EXCLUDED.rating_5",
+            nativeQuery = true)
+    int rebuildAll();
+}
@@ -1,6 +1,7 @@
 package com.yourapp.movies.repository;
 
 import com.yourapp.movies.entity.Movie;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -17,16 +18,17 @@ public interface MovieRepository extends JpaRepository<Movie, Long> {
     @Query("SELECT m FROM Movie m WHERE m.id = :id")
     Optional<Movie> findByIdWithReviews(@Param("id") Long id);
 
-    @EntityGraph(attributePaths = {"reviews"})
-    @Query("SELECT m FROM Movie m")
-    List<Movie> findAllWithReviews();
+    // Keyset pagination: every query seeks past the last seen id and reads at most one page
+
+    @Query("SELECT m FROM Movie m WHERE m.id > :afterId ORDER BY m.id")
+    List<Movie> findPage(@Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%'))")
-    List<Movie> findByTitleContainingIgnoreCase(@Param("title") String title);
+    @Query("SELECT m FROM Movie m WHERE LOWER(m.title) LIKE LOWER(CONCAT('%', :title, '%')) AND m.id > :afterId ORDER BY m.id")
+    List<Movie> findByTitleContainingIgnoreCase(@Param("title") String title, @Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT m FROM Movie m WHERE m.genre = :genre")
-    List<Movie> findByGenre(@Param("genre") String genre);
+    @Query("SELECT m FROM Movie m WHERE m.genre = :genre AND m.id > :afterId ORDER BY m.id")
+    List<Movie> findByGenre(@Param("genre") String genre, @Param("afterId") Long afterId, Pageable pageable);
 
-    @Query("SELECT m FROM Movie m WHERE LOWER(m.director) LIKE LOWER(CONCAT('%', :director, '%'))")
-    List<Movie> findByDirectorContainingIgnoreCase(@Param("director") String director);
+    @Query("SELECT m FROM Movie m WHERE LOWER(m.director) LIKE LOWER(CONCAT('%', :director, '%')) AND m.id > :afterId ORDER BY m.id")
+    List<Movie> findByDirectorContainingIgnoreCase(@Param("director") String director, @Param("afterId") Long afterId, Pageable pageable);
 }
@@ -1,13 +1,16 @@
 package com.yourapp.movies.service;
 
+import com.yourapp.common.dto.CursorPage;
 import com.yourapp.movies.dto.CreateMovieDto;
 import com.yourapp.movies.dto.MovieDto;
+import com.yourapp.movies.dto.ReviewSummaryDto;
 
 import java.util.List;
+import java.util.Map;
 
 public interface MovieService {
 
-    List<MovieDto> findAll();
+    CursorPage<MovieDto> findAll(String after, Integer limit);
 
     MovieDto findById(Long id);
 
@@ -17,9 +20,11 @@ public interface MovieService {
 
     void deleteById(Long id);
 
-    List<MovieDto> findByTitle(String title);
+    CursorPage<MovieDto> findByTitle(String title, String after, Integer limit);
 
-    List<MovieDto> findByGenre(String genre);
+    CursorPage<MovieDto> findByGenre(String genre, String after, Integer limit);
 
-    List<MovieDto> findByDirector(String director);
+    CursorPage<MovieDto> findByDirector(String director, String after, Integer limit);
+
+    Map<Long, List<ReviewSummaryDto>> findReviewsByMovieIds(List<Long> movieIds);
 }
@@ -1,15 +1,24 @@
 package com.yourapp.movies.service;
 
+import com.yourapp.common.dto.CursorPage;
 import com.yourapp.movies.dto.CreateMovieDto;
 import com.yourapp.movies.dto.MovieDto;
 import com.yourapp.movies.dto.ReviewSummaryDto;
 import com.yourapp.movies.entity.Movie;
+import com.yourapp.movies.entity.MovieRatingStats;
+import com.yourapp.movies.repository.MovieRatingStatsRepository;
 import com.yourapp.movies.repository.MovieRepository;
+import com.yourapp.reviews.entity.Review;
+import com.yourapp.reviews.repository.ReviewRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,13 +28,17 @@ public class MovieServiceImpl implements MovieService {
     @Autowired
     private MovieRepository movieRepository;
 
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findAll() {
-        return movieRepository.findAllWithReviews()
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findAll(String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findPage(CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
     }
 
     @Override
@@ -33,14 +46,15 @@ public class MovieServiceImpl implements MovieService {
     public MovieDto findById(Long id) {
         Movie movie = movieRepository.findByIdWithReviews(id)
                 .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + id));
-        return convertToDto(movie);
+        MovieRatingStats stats = movieRatingStatsRepository.findById(id).orElse(null);
+        return convertToDto(movie, stats, toReviewSummaries(movie));
     }
 
     @Override
     public MovieDto create(CreateMovieDto createMovieDto) {
         Movie movie = convertToEntity(createMovieDto);
         Movie savedMovie = movieRepository.save(movie);
-        return convertToDto(savedMovie);
+        return convertToDto(savedMovie, null, List.of());
     }
 
     @Override
@@ -55,7 +69,8 @@ public class MovieServiceImpl implements MovieService {
         existingMovie.setDirector(updateMovieDto.director());
 
         Movie updatedMovie = movieRepository.save(existingMovie);
-        return convertToDto(updatedMovie);
+        MovieRatingStats stats = movieRatingStatsRepository.findById(id).orElse(null);
+        return convertToDto(updatedMovie, stats, null);
     }
 
     @Override
@@ -64,36 +79,77 @@ public class MovieServiceImpl implements MovieService {
             throw new IllegalArgumentException("Movie not found with id: " + id);
         }
         movieRepository.deleteById(id);
+        movieRatingStatsRepository.deleteById(id);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByTitle(String title) {
-        return movieRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findByTitle(String title, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByTitleContainingIgnoreCase(title, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByGenre(String genre) {
-        return movieRepository.findByGenre(genre)
-                .stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public CursorPage<MovieDto> findByGenre(String genre, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByGenre(genre, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<MovieDto> findByDirector(String director, String after, Integer limit) {
+        int pageSize = CursorPage.normalizeLimit(limit);
+        return toPage(movieRepository.findByDirectorContainingIgnoreCase(director, CursorPage.decodeCursor(after), pageWindow(pageSize)), pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<MovieDto> findByDirector(String director) {
-        return movieRepository.findByDirectorContainingIgnoreCase(director)
+    public Map<Long, List<ReviewSummaryDto>> findReviewsByMovieIds(List<Long> movieIds) {
+        return reviewRepository.findByMovieIdInWithUser(movieIds)
                 .stream()
-                .map(this::convertToDto)
+                .collect(Collectors.groupingBy(
+                        review -> review.getMovie().getId(),
+                        Collectors.mapping(this::convertToReviewSummary, Collectors.toList())));
+    }
+
+    // Reads one row beyond the page so hasNextPage needs no count query
+    private Pageable pageWindow(int pageSize) {
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    // Ratings come from the precomputed aggregates; review rows are not loaded for list pages
+    private CursorPage<MovieDto> toPage(List<Movie> rows, int pageSize) {
+        List<Movie> pageRows = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+        Map<Long, MovieRatingStats> statsByMovieId = movieRatingStatsRepository.findAllById(
+                        pageRows.stream().map(Movie::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(MovieRatingStats::getMovieId, Function.identity()));
+        List<MovieDto> movies = pageRows.stream()
+                .map(movie -> convertToDto(movie, statsByMovieId.get(movie.getId()), null))
                 .collect(Collectors.toList());
+        return CursorPage.of(movies, pageSize, MovieDto::id);
+    }
+
+    private List<ReviewSummaryDto> toReviewSummaries(Movie movie) {
+        if (movie.getReviews() == null) {
+            return List.of();
+        }
+        return movie.getReviews().stream()
+                .map(this::convertToReviewSummary)
+                .collect(Collectors.toList());
+    }
+
+    private ReviewSummaryDto convertToReviewSummary(Review review) {
+        return new ReviewSummaryDto(
+                review.getId(),
+                review.getText(),
+                review.getRating(),
+                review.getUser() != null ? review.getUser().getUsername() : null
+        );
     }
 
-    private MovieDto convertToDto(Movie movie) {
+    private MovieDto convertToDto(Movie movie, MovieRatingStats stats, List<ReviewSummaryDto> reviews) {
         return new MovieDto(
                 movie.getId(),
                 movie.getTitle(),
@@ -101,14 +157,9 @@ public class MovieServiceImpl implements MovieService {
                 movie.getReleaseDate(),
                 movie.getGenre(),
                 movie.getDirector(),
-                movie.getReviews() != null ? movie.getReviews().stream()
-                        .map(review -> new ReviewSummaryDto(
-                                review.getId(),
-                                review.getText(),
-                                review.getRating(),
-                                review.getUser() != null ? review.getUser().getUsername() : null
-                        ))
-                        .collect(Collectors.toList()) : List.of()
+                reviews,
+                stats != null ? (int) stats.getReviewCount() : 0,
+                stats != null ? stats.averageRating() : null
         );
     }
 
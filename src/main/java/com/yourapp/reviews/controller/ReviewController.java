@@ -0,0 +1,69 @@
+package com.yourapp.reviews.controller;
+
+import com.yourapp.common.dto.ApiResponse;
+import com.yourapp.reviews.dto.CreateReviewDto;
+import com.yourapp.reviews.dto.ReviewDto;
+import com.yourapp.reviews.dto.UpdateReviewDto;
+import com.yourapp.reviews.service.ReviewService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/reviews")
+public class ReviewController {
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReviewDto>> createReview(@Valid @RequestBody CreateReviewDto createReviewDto) {
+        try {
+            ReviewDto createdReview = reviewService.create(createReviewDto);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Review created successfully", createdReview));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to create review"));
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<ReviewDto>> updateReview(@PathVariable Long id,
+                                                              @Valid @RequestBody UpdateReviewDto updateReviewDto) {
+        try {
+            ReviewDto updatedReview = reviewService.update(id, updateReviewDto);
+            return ResponseEntity.ok(
+                ApiResponse.success("Review updated successfully", updatedReview)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to update review"));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ApiResponse<Void>> deleteReview(@PathVariable Long id) {
+        try {
+            reviewService.deleteById(id);
+            return ResponseEntity.ok(
+                ApiResponse.success("Review deleted successfully", null)
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Failed to delete review"));
+        }
+    }
+}
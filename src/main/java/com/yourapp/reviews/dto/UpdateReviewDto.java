@@ -0,0 +1,18 @@
+package com.yourapp.reviews.dto;
+
+/**
+ * Partial review update: a {@code null} rating keeps the current one.
+ */
+public record UpdateReviewDto(
+        String text,
+        Integer rating
+) {
+    public UpdateReviewDto {
+        if (rating != null && (rating < 1 || rating > 5)) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        if (text != null && text.length() > 1000) {
+            throw new IllegalArgumentException("Review text must not exceed 1000 characters");
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.yourapp.reviews.repository;
+
+import com.yourapp.reviews.entity.Review;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.user WHERE r.movie.id IN :movieIds ORDER BY r.id")
+    List<Review> findByMovieIdInWithUser(@Param("movieIds") Collection<Long> movieIds);
+}
@@ -0,0 +1,14 @@
+package com.yourapp.reviews.service;
+
+import com.yourapp.reviews.dto.CreateReviewDto;
+import com.yourapp.reviews.dto.ReviewDto;
+import com.yourapp.reviews.dto.UpdateReviewDto;
+
+public interface ReviewService {
+
+    ReviewDto create(CreateReviewDto createReviewDto);
+
+    ReviewDto update(Long id, UpdateReviewDto updateReviewDto);
+
+    void deleteById(Long id);
+}
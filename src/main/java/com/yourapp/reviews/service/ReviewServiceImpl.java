@@ -0,0 +1,109 @@
+package com.yourapp.reviews.service;
+
+import com.yourapp.movies.entity.Movie;
+import com.yourapp.movies.repository.MovieRatingStatsRepository;
+import com.yourapp.movies.repository.MovieRepository;
+import com.yourapp.reviews.dto.CreateReviewDto;
+import com.yourapp.reviews.dto.ReviewDto;
+import com.yourapp.reviews.dto.UpdateReviewDto;
+import com.yourapp.reviews.entity.Review;
+import com.yourapp.reviews.repository.ReviewRepository;
+import com.yourapp.users.entity.User;
+import com.yourapp.users.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Review writes. Every write also applies its rating delta to the movie's
+ * {@link com.yourapp.movies.entity.MovieRatingStats} in the same transaction.
+ */
+@Service
+@Transactional
+public class ReviewServiceImpl implements ReviewService {
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private MovieRepository movieRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    @Override
+    public ReviewDto create(CreateReviewDto createReviewDto) {
+        Movie movie = movieRepository.findById(createReviewDto.movieId())
+                .orElseThrow(() -> new IllegalArgumentException("Movie not found with id: " + createReviewDto.movieId()));
+        User user = userRepository.findById(createReviewDto.userId())
+                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + createReviewDto.userId()));
+
+        Review review = new Review();
+        review.setText(createReviewDto.text());
+        review.setRating(createReviewDto.rating());
+        review.setMovie(movie);
+        review.setUser(user);
+
+        Review savedReview = reviewRepository.save(review);
+        movieRatingStatsRepository.applyRating(movie.getId(), savedReview.getRating(), 1);
+        return convertToDto(savedReview);
+    }
+
+    @Override
+    public ReviewDto update(Long id, UpdateReviewDto updateReviewDto) {
+        Review existingReview = reviewRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with id: " + id));
+
+        Long movieId = existingReview.getMovie().getId();
+        int previousRating = existingReview.getRating();
+
+        existingReview.setText(updateReviewDto.text());
+        if (updateReviewDto.rating() != null) {
+            existingReview.setRating(updateReviewDto.rating());
+        }
+        Review updatedReview = reviewRepository.save(existingReview);
+
+        if (previousRating != updatedReview.getRating()) {
+            movieRatingStatsRepository.applyRating(movieId, previousRating, -1);
+            movieRatingStatsRepository.applyRating(movieId, updatedReview.getRating(), 1);
+        }
+        return convertToDto(updatedReview);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with id: " + id));
+        movieRatingStatsRepository.applyRating(review.getMovie().getId(), review.getRating(), -1);
+        reviewRepository.delete(review);
+    }
+
+    /**
+     * Seeds the aggregates from existing reviews the first time the stats table is empty.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRatingStats() {
+        if (movieRatingStatsRepository.count() == 0 && reviewRepository.count() > 0) {
+            movieRatingStatsRepository.rebuildAll();
+        }
+    }
+
+    private ReviewDto convertToDto(Review review) {
+        return new ReviewDto(
+                review.getId(),
+                review.getText(),
+                review.getRating(),
+                review.getMovie().getId(),
+                review.getMovie().getTitle(),
+                review.getUser().getId(),
+                review.getUser().getUsername(),
+                review.getCreatedAt(),
+                review.getUpdatedAt()
+        );
+    }
+}
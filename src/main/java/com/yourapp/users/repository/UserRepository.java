@@ -0,0 +1,9 @@
+package com.yourapp.users.repository;
+
+import com.yourapp.users.entity.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserRepository extends JpaRepository<User, Long> {
+}
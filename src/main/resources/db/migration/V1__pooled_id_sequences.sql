@@ -0,0 +1,17 @@
+-- Entity ids come from pooled sequences (allocationSize = 50) so Hibernate can batch inserts.
+-- Hibernate (ddl-auto=update) still owns the tables: on an empty database it creates the
+-- sequences itself, on an existing one the identity sequences are switched to blocks of 50.
+DO $$
+DECLARE
+    entity_table TEXT;
+BEGIN
+    FOREACH entity_table IN ARRAY ARRAY['movies', 'users', 'reviews'] LOOP
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_schema = current_schema()
+                     AND table_name = entity_table
+                     AND column_name = 'id'
+                     AND is_identity = 'YES') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', entity_table);
+        END IF;
+    END LOOP;
+END $$;
@@ -0,0 +1,155 @@
+package com.yourapp.reviews.service;
+
+import com.yourapp.movies.dto.CreateMovieDto;
+import com.yourapp.movies.entity.MovieRatingStats;
+import com.yourapp.movies.repository.MovieRatingStatsRepository;
+import com.yourapp.movies.service.MovieService;
+import com.yourapp.reviews.dto.CreateReviewDto;
+import com.yourapp.users.entity.User;
+import com.yourapp.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Review writes through the GraphQL mutations keep the movie's rating aggregates
+ * (served as averageRating/reviewCount) in step.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@Testcontainers(disabledWithoutDocker = true)
+class ReviewRatingStatsTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15");
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MovieService movieService;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MovieRatingStatsRepository movieRatingStatsRepository;
+
+    private Long userId;
+
+    @BeforeEach
+    void createUser() {
+        String name = "user" + UUID.randomUUID().toString().substring(0, 8);
+        User user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("password123");
+        userRepository.save(user);
+        userId = user.getId();
+    }
+
+    @Test
+    void averageAndCountFollowCreateUpdateAndDelete() {
+        Long movieId = createMovie("Heat");
+        assertRating(movieId, 0, null);
+
+        String first = createReview(movieId, 4);
+        assertRating(movieId, 1, 4.0);
+
+        String second = createReview(movieId, 2);
+        assertRating(movieId, 2, 3.0);
+
+        updateRating(first, 5);
+        assertRating(movieId, 2, 3.5);
+
+        deleteReview(second);
+        assertRating(movieId, 1, 5.0);
+
+        deleteReview(first);
+        assertRating(movieId, 0, null);
+    }
+
+    @Test
+    @Transactional
+    void rebuildAllResetsMoviesWithoutReviews() {
+        Long reviewed = createMovie("Ronin");
+        reviewService.create(new CreateReviewDto(null, 5, reviewed, userId));
+        Long unreviewed = createMovie("Thief");
+
+        // Drift both aggregates away from the reviews table
+        movieRatingStatsRepository.applyRating(reviewed, 1, 1);
+        movieRatingStatsRepository.applyRating(unreviewed, 3, 1);
+
+        movieRatingStatsRepository.rebuildAll();
+
+        MovieRatingStats reviewedStats = movieRatingStatsRepository.findById(reviewed).orElseThrow();
+        assertThat(reviewedStats.getReviewCount()).isEqualTo(1);
+        assertThat(reviewedStats.getRatingSum()).isEqualTo(5);
+        assertThat(reviewedStats.getRating1()).isZero();
+        MovieRatingStats unreviewedStats = movieRatingStatsRepository.findById(unreviewed).orElseThrow();
+        assertThat(unreviewedStats.getReviewCount()).isZero();
+        assertThat(unreviewedStats.getRatingSum()).isZero();
+        assertThat(unreviewedStats.getRating3()).isZero();
+        assertThat(unreviewedStats.averageRating()).isNull();
+    }
+
+    private Long createMovie(String title) {
+        return movieService.create(new CreateMovieDto(title, null, null, "Crime", "Michael Mann")).id();
+    }
+
+    private String createReview(Long movieId, int rating) {
+        Map<String, Object> input = new HashMap<>();
+        input.put("rating", rating);
+        input.put("movieId", movieId.toString());
+        input.put("userId", userId.toString());
+        return graphQlTester.document("mutation($input: CreateReviewInput!) { createReview(input: $input) { id } }")
+                .variable("input", input)
+                .execute()
+                .path("createReview.id").entity(String.class).get();
+    }
+
+    private void updateRating(String reviewId, int rating) {
+        graphQlTester.document("mutation($id: ID!, $rating: Int) { updateReview(id: $id, input: {rating: $rating}) { rating } }")
+                .variable("id", reviewId)
+                .variable("rating", rating)
+                .execute()
+                .path("updateReview.rating").entity(Integer.class).isEqualTo(rating);
+    }
+
+    private void deleteReview(String reviewId) {
+        graphQlTester.document("mutation($id: ID!) { deleteReview(id: $id) }")
+                .variable("id", reviewId)
+                .execute()
+                .path("deleteReview").entity(Boolean.class).isEqualTo(true);
+    }
+
+    private void assertRating(Long movieId, int reviewCount, Double averageRating) {
+        GraphQlTester.Response response = graphQlTester.document("query($id: ID!) { movie(id: $id) { reviewCount averageRating } }")
+                .variable("id", movieId.toString())
+                .execute();
+        response.path("movie.reviewCount").entity(Integer.class).isEqualTo(reviewCount);
+        if (averageRating == null) {
+            response.path("movie.averageRating").valueIsNull();
+        } else {
+            response.path("movie.averageRating").entity(Double.class).isEqualTo(averageRating);
+        }
+    }
+}